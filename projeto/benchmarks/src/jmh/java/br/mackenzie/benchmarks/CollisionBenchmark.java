@@ -0,0 +1,55 @@
+package br.mackenzie.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+import br.mackenzie.CollisionGrid;
+
+/**
+ * One frame of collision checking as {@code Main.checkCollisions()} does it: rebuild the grid
+ * with every obstacle and query the player's bounds. {@code gc.alloc.rate.norm} must stay at
+ * 0 B/op; {@code CollisionGridTest} in core fails the build if the same work allocates.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CollisionBenchmark {
+    private static final float OBSTACLE_SPACING = 150f;
+    private static final float PLAYER_SPEED_PER_FRAME = 5f;
+
+    @Param({"1", "64", "1024"})
+    public int obstacles;
+
+    private final CollisionGrid<Rectangle> grid = new CollisionGrid<>(128f, 64, 32);
+    private final Array<Rectangle> hits = new Array<>(false, 32);
+    private final Rectangle player = new Rectangle(0f, 20f, 90f, 120f);
+    private Rectangle[] obstacleBounds;
+
+    @Setup
+    public void setUp() {
+        obstacleBounds = new Rectangle[obstacles];
+        for (int i = 0; i < obstacles; i++) {
+            obstacleBounds[i] = new Rectangle(i * OBSTACLE_SPACING, 20f, 110f, 115f);
+        }
+    }
+
+    @Benchmark
+    public int checkCollisions() {
+        player.x = (player.x + PLAYER_SPEED_PER_FRAME) % (obstacles * OBSTACLE_SPACING);
+
+        grid.clear();
+        for (Rectangle bounds : obstacleBounds) {
+            grid.insert(bounds, bounds);
+        }
+        grid.query(player, hits);
+        return hits.size;
+    }
+}
@@ -0,0 +1,136 @@
+package br.mackenzie.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Rectangle;
+
+import br.mackenzie.AnimationAtlas;
+import br.mackenzie.PoliceCrowd;
+import br.mackenzie.TextureRegistry;
+import br.mackenzie.sim.ChaseRules;
+
+/**
+ * Per-tick cost of the crowd chase mode: {@link PoliceCrowd#update} on the common fork-join pool
+ * and on a single-thread pool, and a full frame (update plus drawing the visible pursuers into
+ * a {@link SpriteBatch} backed by {@link NoOpGL20}). At 60 FPS a frame has a 16.7 ms budget.
+ * <p>
+ * With {@code layout=trail} the crowd is spread as in the game. The pursuers are slower than the
+ * player, so they soon sit behind the left edge of a 1280-unit screen, and the frame draws few or
+ * none of them. {@code layout=onScreen} widens the visible area until the whole crowd is inside
+ * it, so every pursuer animates and is drawn: the worst case for the frame.
+ * <p>
+ * The parallel update has only been measured on a single core. Whether 10,000 pursuers hold
+ * 60 FPS with the update split across four cores is unverified.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CrowdBenchmark {
+    private static final float SCREEN_WIDTH = 1280f;
+    private static final float SCREEN_HEIGHT = 720f;
+    private static final float TICK = 1f / 60f;
+    private static final float PLAYER_SPEED = 300f;
+
+    @Param({"1000", "10000"})
+    public int pursuers;
+
+    @Param({"trail", "onScreen"})
+    public String layout;
+
+    private ChaseRules rules;
+    private TextureRegistry textureRegistry;
+    private AnimationAtlas animationAtlas;
+    private ForkJoinPool singleThreadPool;
+    private PoliceCrowd parallelCrowd;
+    private PoliceCrowd sequentialCrowd;
+    private SpriteBatch spriteBatch;
+    private final Rectangle visibleArea = new Rectangle(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+    private float playerX;
+    private float visibleWidth;
+
+    @Setup
+    public void setUp() {
+        HeadlessEnvironment.start();
+        ShaderProgram.pedantic = false;
+        spriteBatch = new SpriteBatch();
+        spriteBatch.getProjectionMatrix().setToOrtho2D(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+
+        rules = new ChaseRules();
+        textureRegistry = new TextureRegistry();
+        animationAtlas = AnimationAtlas.load(textureRegistry);
+        singleThreadPool = new ForkJoinPool(1);
+        playerX = SCREEN_WIDTH / 2f;
+        parallelCrowd = new PoliceCrowd(pursuers, 1L, animationAtlas, rules);
+        parallelCrowd.reset(rules.policeStartX(playerX));
+        sequentialCrowd = new PoliceCrowd(pursuers, 1L, animationAtlas, rules, singleThreadPool);
+        sequentialCrowd.reset(rules.policeStartX(playerX));
+        visibleWidth = "onScreen".equals(layout) ? widthHoldingTheCrowd(parallelCrowd) : SCREEN_WIDTH;
+        visibleArea.width = visibleWidth;
+    }
+
+    /**
+     * A visible width that keeps every pursuer on screen. The pursuers settle up to
+     * {@link ChaseRules#policeCatchUpDistance} behind the player, plus their own trail. That
+     * distance grows with the width, so the width is solved for.
+     */
+    private float widthHoldingTheCrowd(PoliceCrowd crowd) {
+        float lowestX = Float.MAX_VALUE;
+        for (int i = 0; i < crowd.getSize(); i++) lowestX = Math.min(lowestX, crowd.getX(i));
+        float longestTrail = rules.policeStartX(playerX) - lowestX;
+        float catchUpPerUnitWidth = rules.policeCatchUpDistance(0, 1f);
+        float behindPlayer = longestTrail + rules.getPoliceWidth() + SCREEN_WIDTH / 2f;
+        return Math.max(SCREEN_WIDTH, behindPlayer / (1f - catchUpPerUnitWidth) + SCREEN_WIDTH / 2f);
+    }
+
+    @TearDown
+    public void tearDown() {
+        singleThreadPool.shutdown();
+        spriteBatch.dispose();
+        animationAtlas.dispose();
+        textureRegistry.dispose();
+        HeadlessEnvironment.stop();
+    }
+
+    @Benchmark
+    public float parallelUpdate() {
+        return step(parallelCrowd);
+    }
+
+    @Benchmark
+    public float sequentialUpdate() {
+        return step(sequentialCrowd);
+    }
+
+    @Benchmark
+    public int parallelFrame() {
+        step(parallelCrowd);
+        // Like Main: the camera follows through the projection and the visible area decides what is drawn
+        visibleArea.x = cameraX();
+        spriteBatch.getProjectionMatrix().setToOrtho2D(visibleArea.x, 0, visibleWidth, SCREEN_HEIGHT);
+        spriteBatch.begin();
+        parallelCrowd.render(spriteBatch, visibleArea, 1f);
+        spriteBatch.end();
+        return spriteBatch.renderCalls;
+    }
+
+    private float step(PoliceCrowd crowd) {
+        playerX += PLAYER_SPEED * TICK;
+        crowd.update(TICK, 1f, playerX, 0, cameraX(), visibleWidth);
+        return crowd.getX(0);
+    }
+
+    /** The player stays half a screen from the right edge, whatever the visible width. */
+    private float cameraX() {
+        return playerX + SCREEN_WIDTH / 2f - visibleWidth;
+    }
+}
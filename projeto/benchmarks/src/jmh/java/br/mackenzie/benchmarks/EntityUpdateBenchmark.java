@@ -0,0 +1,60 @@
+package br.mackenzie.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import br.mackenzie.AnimationAtlas;
+import br.mackenzie.PlayerCharacter;
+import br.mackenzie.Police;
+import br.mackenzie.TextureRegistry;
+import br.mackenzie.sim.ChaseRules;
+
+/** Per-tick update cost of the two entities, as called from {@code Main.updateGame()}. */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EntityUpdateBenchmark {
+    private static final float TICK = 1f / 60f;
+    private static final int TICKS_BETWEEN_TAPS = 12;
+
+    private TextureRegistry textureRegistry;
+    private AnimationAtlas animationAtlas;
+    private PlayerCharacter player;
+    private Police police;
+    private int tick;
+
+    @Setup
+    public void setUp() {
+        HeadlessEnvironment.start();
+        ChaseRules rules = new ChaseRules();
+        textureRegistry = new TextureRegistry();
+        animationAtlas = AnimationAtlas.load(textureRegistry);
+        player = new PlayerCharacter(640f, rules.getEntityY(), animationAtlas, rules);
+        police = new Police(340f, rules.getEntityY(), animationAtlas, rules);
+    }
+
+    @TearDown
+    public void tearDown() {
+        animationAtlas.dispose();
+        textureRegistry.dispose();
+        HeadlessEnvironment.stop();
+    }
+
+    @Benchmark
+    public float playerUpdate() {
+        if (++tick % TICKS_BETWEEN_TAPS == 0) player.tap();
+        player.update(TICK);
+        return player.getX();
+    }
+
+    @Benchmark
+    public float policeUpdate() {
+        police.update(TICK);
+        return police.getX();
+    }
+}
@@ -0,0 +1,51 @@
+package br.mackenzie.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.mackenzie.sim.ChaseRules;
+import br.mackenzie.sim.SimulationBatch;
+
+/**
+ * Camera, police catch-up, collision and phase logic of {@code Main}, through the
+ * {@link SimulationBatch} that shares its {@link ChaseRules}. With {@code games = 1} this is one
+ * game tick; larger values show how the struct-of-arrays step scales.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GameLogicBenchmark {
+    private static final int SIMULATION_HZ = 60;
+    private static final float VIEWPORT_WIDTH = 1280f;
+    private static final int TICKS_BETWEEN_TAPS = 12;
+
+    @Param({"1", "1024"})
+    public int games;
+
+    private SimulationBatch batch;
+    private int[] taps;
+    private int[] noTaps;
+    private int tick;
+
+    @Setup
+    public void setUp() {
+        batch = new SimulationBatch(new ChaseRules(), games, SIMULATION_HZ, VIEWPORT_WIDTH);
+        taps = new int[games];
+        noTaps = new int[games];
+        for (int i = 0; i < games; i++) {
+            taps[i] = 1;
+        }
+    }
+
+    @Benchmark
+    public int step() {
+        batch.step(++tick % TICKS_BETWEEN_TAPS == 0 ? taps : noTaps);
+        if (batch.countRunning() == 0) batch.resetAll();
+        return batch.getScore(0);
+    }
+}
@@ -0,0 +1,33 @@
+package br.mackenzie.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+
+/**
+ * Sets up the libGDX globals with the headless backend and a {@link NoOpGL20}, so game code that
+ * creates textures and batches can run inside a JMH fork. Assets are loaded from the classpath.
+ */
+public final class HeadlessEnvironment {
+    private static HeadlessApplication application;
+
+    private HeadlessEnvironment() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static synchronized void start() {
+        if (application != null) return;
+
+        application = new HeadlessApplication(new ApplicationAdapter() {});
+        NoOpGL20 gl = new NoOpGL20();
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+    }
+
+    public static synchronized void stop() {
+        if (application == null) return;
+
+        application.exit();
+        application = null;
+    }
+}
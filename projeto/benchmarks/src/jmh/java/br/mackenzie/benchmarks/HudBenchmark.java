@@ -0,0 +1,68 @@
+package br.mackenzie.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+import br.mackenzie.GameHud;
+
+/**
+ * Per-frame cost of the score and phase HUD. The score changes every sixth frame, as it does at
+ * 10 points per second and 60 frames per second. {@code stringConcat} is the old
+ * {@code Main.drawGameUI()}; {@code cachedHud} is {@link GameHud}.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HudBenchmark {
+    private static final int FRAMES_PER_POINT = 6;
+    private static final float SCREEN_HEIGHT = 720f;
+
+    private SpriteBatch spriteBatch;
+    private BitmapFont font;
+    private GameHud hud;
+    private int frame;
+
+    @Setup
+    public void setUp() {
+        HeadlessEnvironment.start();
+        ShaderProgram.pedantic = false;
+        spriteBatch = new SpriteBatch();
+        font = new BitmapFont();
+        font.getData().setScale(2f);
+        hud = new GameHud(font);
+    }
+
+    @TearDown
+    public void tearDown() {
+        spriteBatch.dispose();
+        font.dispose();
+        HeadlessEnvironment.stop();
+    }
+
+    @Benchmark
+    public void stringConcat() {
+        int score = frame++ / FRAMES_PER_POINT;
+        spriteBatch.begin();
+        font.draw(spriteBatch, "Score: " + score, 10, SCREEN_HEIGHT - 10);
+        font.draw(spriteBatch, "Fase: " + 1, 10, SCREEN_HEIGHT - 50);
+        spriteBatch.end();
+    }
+
+    @Benchmark
+    public void cachedHud() {
+        int score = frame++ / FRAMES_PER_POINT;
+        spriteBatch.begin();
+        hud.update(score, 1);
+        hud.draw(spriteBatch);
+        spriteBatch.end();
+    }
+}
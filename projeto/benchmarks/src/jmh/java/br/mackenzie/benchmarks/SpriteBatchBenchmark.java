@@ -0,0 +1,109 @@
+package br.mackenzie.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Rectangle;
+
+import br.mackenzie.AnimationAtlas;
+import br.mackenzie.ParallaxBackground;
+import br.mackenzie.PlayerCharacter;
+import br.mackenzie.Police;
+import br.mackenzie.TextureRegistry;
+import br.mackenzie.sim.ChaseRules;
+
+/**
+ * CPU cost of submitting one game frame: the {@link ParallaxBackground} quad, then the player and
+ * the police through {@link SpriteBatch}, the same draws {@code Main.renderGame()} issues. GL calls
+ * go to {@link NoOpGL20}. The batch render call count per frame is reported as an extra counter;
+ * the background adds one draw call of its own.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SpriteBatchBenchmark {
+    private static final float SCREEN_WIDTH = 1280f;
+    private static final float SCREEN_HEIGHT = 720f;
+    private static final float TICK = 1f / 60f;
+
+    private final Rectangle visibleArea = new Rectangle(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+    private SpriteBatch spriteBatch;
+    private Texture backgroundTexture;
+    private ParallaxBackground parallaxBackground;
+    private TextureRegistry textureRegistry;
+    private AnimationAtlas animationAtlas;
+    private PlayerCharacter player;
+    private Police police;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RenderCounters {
+        public long renderCalls;
+        public long frames;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            renderCalls = 0;
+            frames = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        HeadlessEnvironment.start();
+        ShaderProgram.pedantic = false;
+        spriteBatch = new SpriteBatch();
+        spriteBatch.getProjectionMatrix().setToOrtho2D(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        backgroundTexture = new Texture(pixmap);
+        pixmap.dispose();
+        parallaxBackground = new ParallaxBackground(Color.BLUE);
+        parallaxBackground.setLayer(0, backgroundTexture, 1f);
+
+        ChaseRules rules = new ChaseRules();
+        textureRegistry = new TextureRegistry();
+        animationAtlas = AnimationAtlas.load(textureRegistry);
+        player = new PlayerCharacter(SCREEN_WIDTH / 2f, rules.getEntityY(), animationAtlas, rules);
+        police = new Police(SCREEN_WIDTH / 2f - 300f, rules.getEntityY(), animationAtlas, rules);
+        player.tap();
+    }
+
+    @TearDown
+    public void tearDown() {
+        spriteBatch.dispose();
+        parallaxBackground.dispose();
+        backgroundTexture.dispose();
+        animationAtlas.dispose();
+        textureRegistry.dispose();
+        HeadlessEnvironment.stop();
+    }
+
+    @Benchmark
+    public int drawFrame(RenderCounters counters) {
+        player.update(TICK);
+        police.update(TICK);
+
+        parallaxBackground.render(visibleArea);
+        spriteBatch.begin();
+        player.render(spriteBatch, visibleArea, 1f);
+        police.render(spriteBatch, visibleArea, 1f);
+        spriteBatch.end();
+
+        counters.renderCalls += spriteBatch.renderCalls;
+        counters.frames++;
+        return spriteBatch.renderCalls;
+    }
+}
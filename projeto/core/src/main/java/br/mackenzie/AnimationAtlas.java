@@ -0,0 +1,254 @@
+package br.mackenzie;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Quadros de animação do jogador e da polícia. Em builds normais os quadros vêm de um único
+ * atlas gerado pela tarefa Gradle {@code packTextures}, de modo que todas as entidades
+ * compartilham a mesma textura e o {@link com.badlogic.gdx.graphics.g2d.SpriteBatch} não
+ * precisa trocar de textura entre elas. Sem o atlas (por exemplo, ao rodar pela IDE sem
+ * executar a tarefa) os PNGs avulsos são emprestados do {@link TextureRegistry}.
+ * <p>
+ * As imagens são decodificadas pelo {@link AssetPreloader} em paralelo; os quadros existem
+ * desde o início, mas só apontam para uma textura depois que ele termina de carregar.
+ */
+public class AnimationAtlas implements Disposable {
+    // --- Constantes ---
+    public static final String ATLAS_PATH = "atlas/characters.atlas";
+    public static final int NUM_RUN_FRAMES = 8;
+
+    private static final String FALLBACK_FRAME_KEY = "generated:fallback-frame";
+    private static final String PLAYER_IDLE_NAME = "character";
+    private static final String PLAYER_RUN_BASE_NAME = "characterRun/run";
+    private static final String[] POLICE_RUN_BASE_NAMES = {
+        "police1Run/run",  // Fase 1
+        "police2Run/run",  // Fase 2
+        "police3Run/run"   // Fase 3
+    };
+
+    // --- Recursos Gráficos ---
+    private TextureAtlas atlas;
+    private final TextureRegistry textureRegistry;
+    private final Array<String> acquiredTextures = new Array<>();
+    private TextureRegion playerIdleFrame;
+    private TextureRegion[] playerRunFrames;
+    private TextureRegion[][] policeRunFrames;
+
+    private AnimationAtlas(TextureRegistry textureRegistry) {
+        this.textureRegistry = textureRegistry;
+    }
+
+    /** Carrega tudo antes de voltar, para quem não tem uma tela de carga, como os benchmarks. */
+    public static AnimationAtlas load(TextureRegistry textureRegistry) {
+        AssetPreloader preloader = new AssetPreloader();
+        AnimationAtlas animationAtlas = preload(textureRegistry, preloader);
+        preloader.finish();
+        preloader.dispose();
+        return animationAtlas;
+    }
+
+    /** Agenda as imagens no {@code preloader}; os quadros só podem ser desenhados depois que ele terminar. */
+    public static AnimationAtlas preload(TextureRegistry textureRegistry, AssetPreloader preloader) {
+        FileHandle atlasFile = Gdx.files.internal(ATLAS_PATH);
+        AnimationAtlas animationAtlas = new AnimationAtlas(textureRegistry);
+        if (atlasFile.exists()) {
+            preloader.add(animationAtlas.new AtlasJob(atlasFile));
+        } else {
+            Gdx.app.error("AnimationAtlas", "Atlas not found, loading loose textures: " + atlasFile.path());
+            animationAtlas.preloadLooseFrames(preloader);
+        }
+        return animationAtlas;
+    }
+
+    /**
+     * Quadros vazios que nunca recebem textura, para exercitar as entidades sem GPU nem arquivos,
+     * como nos testes.
+     */
+    static AnimationAtlas withoutTextures() {
+        AnimationAtlas animationAtlas = new AnimationAtlas(null);
+        animationAtlas.playerIdleFrame = new TextureRegion();
+        animationAtlas.playerRunFrames = new TextureRegion[NUM_RUN_FRAMES];
+        Arrays.fill(animationAtlas.playerRunFrames, animationAtlas.playerIdleFrame);
+        animationAtlas.policeRunFrames = new TextureRegion[POLICE_RUN_BASE_NAMES.length][NUM_RUN_FRAMES];
+        for (TextureRegion[] frames : animationAtlas.policeRunFrames) {
+            Arrays.fill(frames, animationAtlas.playerIdleFrame);
+        }
+        return animationAtlas;
+    }
+
+    // === ATLAS ===
+
+    /** Lê o arquivo do atlas e decodifica suas páginas em segundo plano; o atlas é montado no envio. */
+    private final class AtlasJob implements AssetPreloader.Job {
+        private final FileHandle atlasFile;
+        private TextureAtlas.TextureAtlasData data;
+        private Pixmap[] pages;
+
+        AtlasJob(FileHandle atlasFile) {
+            this.atlasFile = atlasFile;
+        }
+
+        @Override
+        public void decode() {
+            GameTelemetry.assetLoadBegin();
+            data = new TextureAtlas.TextureAtlasData(atlasFile, atlasFile.parent(), false);
+            pages = new Pixmap[data.getPages().size];
+            for (int i = 0; i < pages.length; i++) {
+                pages[i] = new Pixmap(data.getPages().get(i).textureFile);
+            }
+            GameTelemetry.assetLoadEnd(atlasFile.path(), GameTelemetry.STAGE_DECODE);
+        }
+
+        @Override
+        public void upload() {
+            GameTelemetry.assetLoadBegin();
+            for (int i = 0; i < pages.length; i++) {
+                TextureAtlas.TextureAtlasData.Page page = data.getPages().get(i);
+                page.texture = new Texture(new PixmapTextureData(pages[i], page.format, page.useMipMaps, true));
+            }
+            GameTelemetry.assetLoadEnd(atlasFile.path(), GameTelemetry.STAGE_UPLOAD);
+            pages = null;
+            atlas = new TextureAtlas(data);
+            findPackedFrames();
+        }
+
+        @Override
+        public void discard() {
+            if (pages == null) return;
+            for (Pixmap page : pages) {
+                if (page != null) page.dispose();
+            }
+        }
+    }
+
+    private void findPackedFrames() {
+        playerIdleFrame = findPackedRegion(PLAYER_IDLE_NAME, null);
+        playerRunFrames = new TextureRegion[NUM_RUN_FRAMES];
+        for (int i = 0; i < NUM_RUN_FRAMES; i++) {
+            playerRunFrames[i] = findPackedRegion(PLAYER_RUN_BASE_NAME + (i + 1), playerIdleFrame);
+        }
+
+        policeRunFrames = new TextureRegion[POLICE_RUN_BASE_NAMES.length][NUM_RUN_FRAMES];
+        for (int phase = 0; phase < POLICE_RUN_BASE_NAMES.length; phase++) {
+            for (int frame = 0; frame < NUM_RUN_FRAMES; frame++) {
+                policeRunFrames[phase][frame] = findPackedRegion(POLICE_RUN_BASE_NAMES[phase] + (frame + 1), null);
+            }
+        }
+    }
+
+    private TextureRegion findPackedRegion(String name, TextureRegion fallback) {
+        TextureRegion region = atlas.findRegion(name);
+        if (region != null) return region;
+
+        Gdx.app.error("AnimationAtlas", "Region not found in atlas: " + name);
+        return fallback != null ? fallback : createFallbackFrame();
+    }
+
+    // === TEXTURAS AVULSAS ===
+
+    /** Cada PNG vira uma tarefa do preloader; os quadros começam vazios e recebem a textura no envio. */
+    private void preloadLooseFrames(AssetPreloader preloader) {
+        playerIdleFrame = preloadFrame(preloader, Gdx.files.internal(PLAYER_IDLE_NAME + ".png"));
+        playerRunFrames = new TextureRegion[NUM_RUN_FRAMES];
+        for (int i = 0; i < NUM_RUN_FRAMES; i++) {
+            FileHandle fileHandle = Gdx.files.internal(PLAYER_RUN_BASE_NAME + (i + 1) + ".png");
+            if (!fileHandle.exists()) {
+                Gdx.app.error("AnimationAtlas", "Run texture not found: " + fileHandle.path());
+                playerRunFrames[i] = playerIdleFrame;
+            } else {
+                playerRunFrames[i] = preloadFrame(preloader, fileHandle);
+            }
+        }
+
+        policeRunFrames = new TextureRegion[POLICE_RUN_BASE_NAMES.length][NUM_RUN_FRAMES];
+        for (int phase = 0; phase < POLICE_RUN_BASE_NAMES.length; phase++) {
+            for (int frame = 0; frame < NUM_RUN_FRAMES; frame++) {
+                String frameNumber = String.format("%02d", frame + 1);
+                FileHandle fileHandle = Gdx.files.internal(POLICE_RUN_BASE_NAMES[phase] + frameNumber + ".png");
+                if (!fileHandle.exists()) {
+                    fileHandle = Gdx.files.internal(POLICE_RUN_BASE_NAMES[phase] + (frame + 1) + ".png");
+                }
+
+                if (fileHandle.exists()) {
+                    policeRunFrames[phase][frame] = preloadFrame(preloader, fileHandle);
+                } else {
+                    Gdx.app.error("AnimationAtlas", "Texture not found for phase " + phase + ", frame " + (frame + 1) + ": " + fileHandle.path());
+                    policeRunFrames[phase][frame] = createFallbackFrame();
+                }
+            }
+        }
+    }
+
+    private TextureRegion preloadFrame(AssetPreloader preloader, FileHandle fileHandle) {
+        TextureRegion region = new TextureRegion();
+        preloader.add(new FrameJob(fileHandle, region));
+        return region;
+    }
+
+    /** Decodifica um PNG avulso em segundo plano e o empresta do registro no envio. */
+    private final class FrameJob implements AssetPreloader.Job {
+        private final FileHandle fileHandle;
+        private final TextureRegion region;
+        private Pixmap pixmap;
+
+        FrameJob(FileHandle fileHandle, TextureRegion region) {
+            this.fileHandle = fileHandle;
+            this.region = region;
+        }
+
+        @Override
+        public void decode() {
+            GameTelemetry.assetLoadBegin();
+            pixmap = new Pixmap(fileHandle);
+            GameTelemetry.assetLoadEnd(fileHandle.path(), GameTelemetry.STAGE_DECODE);
+        }
+
+        @Override
+        public void upload() {
+            acquiredTextures.add(fileHandle.path());
+            region.setRegion(textureRegistry.acquire(fileHandle.path(), pixmap));
+            pixmap = null;
+        }
+
+        @Override
+        public void discard() {
+            if (pixmap != null) pixmap.dispose();
+        }
+    }
+
+    private TextureRegion createFallbackFrame() {
+        acquiredTextures.add(FALLBACK_FRAME_KEY);
+        return new TextureRegion(textureRegistry.acquire(FALLBACK_FRAME_KEY, () -> {
+            Pixmap pixmap = new Pixmap(100, 100, Pixmap.Format.RGBA8888);
+            pixmap.setColor(1, 0, 0, 1);
+            pixmap.fill();
+            return pixmap;
+        }));
+    }
+
+    // === ACESSO ===
+
+    public TextureRegion getPlayerIdleFrame() { return playerIdleFrame; }
+    public TextureRegion[] getPlayerRunFrames() { return playerRunFrames; }
+    public int getPolicePhaseCount() { return policeRunFrames.length; }
+    public TextureRegion[] getPoliceRunFrames(int phase) { return policeRunFrames[phase]; }
+
+    @Override
+    public void dispose() {
+        if (atlas != null) atlas.dispose();
+        for (String key : acquiredTextures) {
+            textureRegistry.release(key);
+        }
+        acquiredTextures.clear();
+    }
+}
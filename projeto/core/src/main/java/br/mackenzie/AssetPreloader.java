@@ -0,0 +1,149 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+
+/**
+ * Carrega as texturas do jogo enquanto a tela inicial aparece. A decodificação das imagens roda
+ * em paralelo em várias threads de trabalho; o envio para a GPU acontece na thread de
+ * renderização, em {@link #update(long)}, só até o limite de tempo de cada quadro, para a tela
+ * continuar respondendo. Quando tudo foi enviado, as ações de {@link #whenLoaded(Runnable)} rodam
+ * na ordem em que foram registradas.
+ */
+public class AssetPreloader implements Disposable {
+    /** Um recurso em duas etapas: decodificação numa thread de trabalho e envio na de renderização. */
+    public interface Job {
+        /** Roda numa thread de trabalho; não pode usar OpenGL. */
+        void decode();
+
+        /** Roda na thread de renderização depois de {@link #decode()}. */
+        void upload();
+
+        /** Libera o que foi decodificado e não chegou a ser enviado. */
+        void discard();
+    }
+
+    private final int threads;
+    private final AsyncExecutor executor;
+    private final Array<Job> jobs = new Array<>();
+    private final Array<AsyncResult<Void>> decodes = new Array<>();
+    private final Array<Runnable> loadedActions = new Array<>();
+    private final long startNanos = System.nanoTime();
+    private int uploadedCount;
+    private int uploadFrames;
+    private long uploadNanos;
+    private boolean loaded;
+
+    /** Uma thread de trabalho por núcleo, menos o da thread de renderização. */
+    public AssetPreloader() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    public AssetPreloader(int threads) {
+        this.threads = threads;
+        this.executor = new AsyncExecutor(threads, "AssetPreloader");
+    }
+
+    /** Começa a decodificar o recurso imediatamente. */
+    public void add(final Job job) {
+        jobs.add(job);
+        decodes.add(executor.submit(() -> {
+            job.decode();
+            return null;
+        }));
+    }
+
+    /** Ação a rodar na thread de renderização quando todos os recursos estiverem na GPU. */
+    public void whenLoaded(Runnable action) {
+        loadedActions.add(action);
+    }
+
+    /**
+     * Envia à GPU os recursos já decodificados até gastar {@code budgetNanos}; ao menos um por
+     * chamada, para imagens grandes não travarem a carga.
+     *
+     * @return verdadeiro quando todos os recursos foram enviados e as ações de
+     *         {@link #whenLoaded(Runnable)} já rodaram
+     */
+    public boolean update(long budgetNanos) {
+        if (loaded) return true;
+        long start = System.nanoTime();
+        boolean uploaded = false;
+        for (int i = 0; i < jobs.size; i++) {
+            if (jobs.get(i) == null || !decodes.get(i).isDone()) continue;
+            if (uploaded && System.nanoTime() - start >= budgetNanos) break;
+            upload(i);
+            uploaded = true;
+        }
+        if (uploaded) {
+            uploadFrames++;
+            uploadNanos += System.nanoTime() - start;
+        }
+        if (uploadedCount == jobs.size) finishLoading();
+        return loaded;
+    }
+
+    /** Espera todas as decodificações e envia tudo de uma vez, para quem não tem uma tela de carga. */
+    public void finish() {
+        if (loaded) return;
+        long start = System.nanoTime();
+        for (int i = 0; i < jobs.size; i++) {
+            if (jobs.get(i) != null) upload(i);
+        }
+        uploadFrames++;
+        uploadNanos += System.nanoTime() - start;
+        finishLoading();
+    }
+
+    /** Fração do trabalho concluída, contando decodificação e envio com o mesmo peso. */
+    public float getProgress() {
+        if (jobs.size == 0) return loaded ? 1f : 0f;
+        int decoded = 0;
+        for (int i = 0; i < decodes.size; i++) {
+            if (decodes.get(i).isDone()) decoded++;
+        }
+        return (decoded + uploadedCount) / (2f * jobs.size);
+    }
+
+    public boolean isLoaded() { return loaded; }
+
+    private void upload(int index) {
+        decodes.get(index).get(); // Repassa aqui um erro da decodificação
+        Job job = jobs.get(index);
+        jobs.set(index, null);
+        job.upload();
+        uploadedCount++;
+    }
+
+    private void finishLoading() {
+        loaded = true;
+        Gdx.app.log("AssetPreloader", jobs.size + " assets on " + threads + " threads: ready after "
+            + ((System.nanoTime() - startNanos) / 1000000L) + " ms, uploads took " + (uploadNanos / 1000000f)
+            + " ms over " + uploadFrames + " frames");
+        for (Runnable action : loadedActions) {
+            action.run();
+        }
+        loadedActions.clear();
+    }
+
+    /** Espera as decodificações em andamento e descarta o que não chegou a ser enviado. */
+    @Override
+    public void dispose() {
+        executor.dispose();
+        for (int i = 0; i < jobs.size; i++) {
+            Job job = jobs.get(i);
+            if (job == null) continue;
+            try {
+                decodes.get(i).get();
+                job.discard();
+            } catch (GdxRuntimeException e) {
+                // A decodificação falhou; não há nada para liberar
+            }
+            jobs.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+
+/**
+ * Carrega os fundos das fases antes de serem necessários. A decodificação do PNG roda numa
+ * thread de trabalho; apenas o envio para a GPU acontece na thread de renderização, em
+ * {@link #update()}. Quando a fase muda, {@link #get(int)} normalmente só devolve a textura
+ * que já está pronta.
+ * <p>
+ * Se a GPU aceita DXT1 ou ETC, a versão comprimida gerada por {@code compressBackgrounds}
+ * ({@code compressed/dxt1/<nome>.zktx} ou {@code compressed/etc1/<nome>.zktx}, com mipmaps) é
+ * usada no lugar do PNG: o arquivo é só lido e descompactado, sem decodificação de imagem, e
+ * ocupa cerca de um sexto da memória de vídeo. O tempo de carga e os bytes residentes de cada
+ * fundo vão para o log.
+ */
+public class BackgroundStreamer implements Disposable {
+    private final String[] paths;
+    private final Texture[] textures;
+    private final AsyncResult<LoadedBackground>[] pendingDecodes;
+    private final boolean[] discardOnArrival;
+    private final AsyncExecutor executor = new AsyncExecutor(1, "BackgroundStreamer");
+    private final int compressedFormat;
+
+    /** Deve ser criado na thread de renderização, que consulta os formatos aceitos pela GPU. */
+    public BackgroundStreamer(String[] paths) {
+        this.paths = paths;
+        this.textures = new Texture[paths.length];
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        AsyncResult<LoadedBackground>[] decodes = new AsyncResult[paths.length];
+        this.pendingDecodes = decodes;
+        this.discardOnArrival = new boolean[paths.length];
+        this.compressedFormat = CompressedTextureData.getSupportedFormat();
+    }
+
+    /** Começa a decodificar o fundo em segundo plano, se ele ainda não estiver carregado. */
+    public void prefetch(int index) {
+        if (index < 0 || index >= paths.length) return;
+        discardOnArrival[index] = false;
+        if (textures[index] != null || pendingDecodes[index] != null) return;
+
+        final String path = paths[index];
+        pendingDecodes[index] = executor.submit(() -> load(path));
+    }
+
+    /**
+     * Carrega o fundo junto com os outros recursos do {@code preloader}, em vez de na thread
+     * própria; depois que ele termina, {@link #get(int)} devolve a textura sem esperar.
+     */
+    public void preload(final int index, AssetPreloader preloader) {
+        discardOnArrival[index] = false;
+        if (textures[index] != null || pendingDecodes[index] != null) return;
+
+        preloader.add(new AssetPreloader.Job() {
+            private LoadedBackground loaded;
+
+            @Override
+            public void decode() {
+                loaded = load(paths[index]);
+            }
+
+            @Override
+            public void upload() {
+                install(index, loaded);
+                loaded = null;
+            }
+
+            @Override
+            public void discard() {
+                if (loaded != null) loaded.discard();
+            }
+        });
+    }
+
+    /** Roda na thread de trabalho: lê a versão comprimida, se houver, ou decodifica o PNG. */
+    private LoadedBackground load(String path) {
+        long start = System.nanoTime();
+        GameTelemetry.assetLoadBegin();
+        FileHandle compressedFile = compressedFormat != 0 ? compressedFileFor(path, compressedFormat) : null;
+        if (compressedFile != null && compressedFile.exists()) {
+            CompressedTextureData data = new CompressedTextureData(compressedFile, compressedFormat);
+            data.prepare();
+            GameTelemetry.assetLoadEnd(compressedFile.path(), GameTelemetry.STAGE_DECODE);
+            return new LoadedBackground(data, System.nanoTime() - start, data.getResidentBytes(),
+                CompressedTextureData.describe(compressedFormat) + ", " + data.getMipmapLevels() + " mip levels");
+        }
+
+        Pixmap pixmap = new Pixmap(Gdx.files.internal(path));
+        PixmapTextureData data = new PixmapTextureData(pixmap, null, false, true);
+        GameTelemetry.assetLoadEnd(path, GameTelemetry.STAGE_DECODE);
+        return new LoadedBackground(data, System.nanoTime() - start, pixmap.getPixels().capacity(),
+            "PNG, " + pixmap.getFormat());
+    }
+
+    private static FileHandle compressedFileFor(String path, int format) {
+        FileHandle png = Gdx.files.internal(path);
+        String folder = format == CompressedTextureData.GL_COMPRESSED_RGB_S3TC_DXT1 ? "dxt1" : "etc1";
+        return Gdx.files.internal("compressed/" + folder + "/" + png.nameWithoutExtension() + ".zktx");
+    }
+
+    /** Envia para a GPU os fundos cuja decodificação terminou. Deve ser chamado na thread de renderização. */
+    public void update() {
+        for (int i = 0; i < pendingDecodes.length; i++) {
+            if (pendingDecodes[i] != null && pendingDecodes[i].isDone()) {
+                upload(i);
+            }
+        }
+    }
+
+    /**
+     * Devolve a textura do fundo. Se ele não foi pré-carregado, espera a decodificação
+     * pendente ou carrega de forma síncrona.
+     */
+    public Texture get(int index) {
+        discardOnArrival[index] = false;
+        if (textures[index] == null) {
+            if (pendingDecodes[index] == null) {
+                Gdx.app.log("BackgroundStreamer", "Loading background synchronously: " + paths[index]);
+                prefetch(index);
+            }
+            upload(index);
+        }
+        return textures[index];
+    }
+
+    /** Libera a textura do fundo; uma decodificação em andamento é descartada quando terminar. */
+    public void release(int index) {
+        if (textures[index] != null) {
+            textures[index].dispose();
+            textures[index] = null;
+        }
+        if (pendingDecodes[index] != null) {
+            discardOnArrival[index] = true;
+        }
+    }
+
+    private void upload(int index) {
+        LoadedBackground loaded = pendingDecodes[index].get();
+        pendingDecodes[index] = null;
+        if (loaded != null) install(index, loaded);
+    }
+
+    private void install(int index, LoadedBackground loaded) {
+        if (discardOnArrival[index] || textures[index] != null) {
+            loaded.discard();
+        } else {
+            long start = System.nanoTime();
+            GameTelemetry.assetLoadBegin();
+            Texture texture = new Texture(loaded.data);
+            if (loaded.data.useMipMaps()) {
+                texture.setFilter(Texture.TextureFilter.MipMapLinearLinear, Texture.TextureFilter.Linear);
+            }
+            textures[index] = texture;
+            GameTelemetry.assetLoadEnd(paths[index], GameTelemetry.STAGE_UPLOAD);
+            Gdx.app.log("BackgroundStreamer", paths[index] + " (" + loaded.description + "): load "
+                + (loaded.loadNanos / 1000000f) + " ms, upload " + ((System.nanoTime() - start) / 1000000f) + " ms, "
+                + (loaded.residentBytes / 1024) + " KiB resident");
+        }
+        discardOnArrival[index] = false;
+    }
+
+    /** Quantos fundos estão na GPU agora. */
+    public int getResidentCount() {
+        int count = 0;
+        for (Texture texture : textures) {
+            if (texture != null) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public void dispose() {
+        executor.dispose();
+        for (int i = 0; i < paths.length; i++) {
+            if (pendingDecodes[i] != null) {
+                LoadedBackground loaded = pendingDecodes[i].get();
+                if (loaded != null) loaded.discard();
+                pendingDecodes[i] = null;
+            }
+            if (textures[i] != null) {
+                textures[i].dispose();
+                textures[i] = null;
+            }
+        }
+    }
+
+    /** Resultado da thread de trabalho, pronto para ser enviado à GPU. */
+    private static final class LoadedBackground {
+        final TextureData data;
+        final long loadNanos;
+        final int residentBytes;
+        final String description;
+
+        LoadedBackground(TextureData data, long loadNanos, int residentBytes, String description) {
+            this.data = data;
+            this.loadNanos = loadNanos;
+            this.residentBytes = residentBytes;
+            this.description = description;
+        }
+
+        void discard() {
+            if (data instanceof CompressedTextureData) {
+                ((CompressedTextureData) data).disposePreparedData();
+            } else {
+                data.consumePixmap().dispose();
+            }
+        }
+    }
+}
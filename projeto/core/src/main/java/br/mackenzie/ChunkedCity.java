@@ -0,0 +1,123 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+/**
+ * Cidade do modo sem fim, dividida em pedaços de largura fixa ({@link CityChunk}). Os pedaços
+ * são gerados numa thread de trabalho algumas telas à frente da câmera, só os visíveis são
+ * desenhados e os que ficaram para trás voltam ao {@link Pool}. Como o número de pedaços vivos
+ * tem um teto, memória e custo por quadro não dependem da distância percorrida.
+ * <p>
+ * Os índices dos pedaços são absolutos; {@link #shiftOrigin(float)} acompanha a origem
+ * flutuante de {@link Main}, então a cidade gerada é a mesma com ou sem deslocamentos.
+ */
+public class ChunkedCity implements Disposable {
+    private static final int MAX_CHUNKS = 16;
+    private static final float SCREENS_AHEAD = 2f;
+    private static final Color[] BUILDING_SHADES = {
+        new Color(0.10f, 0.10f, 0.16f, 0.85f),
+        new Color(0.14f, 0.13f, 0.20f, 0.85f),
+        new Color(0.18f, 0.16f, 0.22f, 0.85f),
+        new Color(0.12f, 0.15f, 0.19f, 0.85f)
+    };
+
+    private final long worldSeed;
+    private final float chunkWidth;
+    private final float groundY;
+    private final AsyncExecutor executor = new AsyncExecutor(1, "ChunkedCity");
+    private final Pool<CityChunk> pool = new Pool<CityChunk>(MAX_CHUNKS, MAX_CHUNKS) {
+        @Override
+        protected CityChunk newObject() {
+            return new CityChunk();
+        }
+    };
+    /** Pedaços vivos, em ordem crescente de índice. */
+    private final Array<CityChunk> chunks = new Array<>(true, MAX_CHUNKS);
+    private long originChunk;
+    private long nextChunkIndex;
+
+    public ChunkedCity(long worldSeed, float chunkWidth, float groundY) {
+        this.worldSeed = worldSeed;
+        this.chunkWidth = chunkWidth;
+        this.groundY = groundY;
+        pool.fill(MAX_CHUNKS);
+    }
+
+    /** Recicla os pedaços que saíram pela esquerda e pede os que faltam à frente da câmera. */
+    public void update(float cameraX, float viewportWidth) {
+        long firstVisible = originChunk + (long) Math.floor(cameraX / chunkWidth);
+        long lastNeeded = originChunk + (long) Math.floor((cameraX + viewportWidth * (1f + SCREENS_AHEAD)) / chunkWidth);
+
+        // Um pedaço ainda em geração fica até a thread de trabalho terminar de escrever nele
+        while (chunks.size > 0 && chunks.first().getIndex() < firstVisible && chunks.first().isReady()) {
+            pool.free(chunks.removeIndex(0));
+        }
+
+        if (nextChunkIndex < firstVisible) nextChunkIndex = firstVisible;
+        while (nextChunkIndex <= lastNeeded && chunks.size < MAX_CHUNKS) {
+            requestChunk(nextChunkIndex++);
+        }
+    }
+
+    private void requestChunk(long index) {
+        final CityChunk chunk = pool.obtain();
+        chunk.assign(index);
+        chunks.add(chunk);
+        executor.submit(() -> {
+            chunk.generate(worldSeed, chunkWidth, BUILDING_SHADES.length);
+            return null;
+        });
+    }
+
+    /** Acompanha um deslocamento da origem flutuante; {@code shift} é múltiplo da largura do pedaço. */
+    public void shiftOrigin(float shift) {
+        originChunk += Math.round(shift / chunkWidth);
+    }
+
+    /** Descarta todos os pedaços e volta a origem para o início, como numa partida nova. */
+    public void reset() {
+        // A thread de trabalho é única e atende em ordem: quando esta tarefa roda, as anteriores já terminaram
+        executor.submit(() -> null).get();
+        pool.freeAll(chunks);
+        chunks.clear();
+        originChunk = 0;
+        nextChunkIndex = 0;
+    }
+
+    /**
+     * Desenha, em coordenadas do mundo, os prédios dos pedaços prontos que aparecem em
+     * {@code visibleArea}. Os pedaços gerados à frente e os prédios que já saíram pela borda de um
+     * pedaço visível ficam de fora.
+     */
+    public void render(SpriteBatch spriteBatch, Texture whitePixelTexture, Rectangle visibleArea) {
+        float visibleMinX = visibleArea.x;
+        float visibleMaxX = visibleArea.x + visibleArea.width;
+        for (int i = 0; i < chunks.size; i++) {
+            CityChunk chunk = chunks.get(i);
+            float chunkX = (chunk.getIndex() - originChunk) * chunkWidth;
+            if (!chunk.isReady() || chunkX + chunkWidth < visibleMinX || chunkX > visibleMaxX) continue;
+
+            for (int b = 0; b < chunk.buildingCount; b++) {
+                float buildingX = chunkX + chunk.buildingX[b];
+                if (buildingX + chunk.buildingWidth[b] < visibleMinX || buildingX > visibleMaxX) continue;
+                spriteBatch.setColor(BUILDING_SHADES[chunk.buildingShade[b]]);
+                spriteBatch.draw(whitePixelTexture, buildingX, groundY, chunk.buildingWidth[b], chunk.buildingHeight[b]);
+            }
+        }
+        spriteBatch.setColor(Color.WHITE);
+    }
+
+    public int getLiveChunkCount() { return chunks.size; }
+
+    @Override
+    public void dispose() {
+        executor.dispose();
+    }
+}
@@ -0,0 +1,60 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Um pedaço da cidade sem fim: uma fileira de prédios gerada a partir da semente do mundo e
+ * do índice do pedaço, então o mesmo índice sempre gera os mesmos prédios. É preenchido numa
+ * thread de trabalho pelo {@link ChunkedCity} e reaproveitado via {@link Pool}.
+ */
+public class CityChunk implements Pool.Poolable {
+    static final int MAX_BUILDINGS = 8;
+    private static final int MIN_BUILDINGS = 3;
+    private static final float MIN_BUILDING_WIDTH = 80f;
+    private static final float MAX_BUILDING_WIDTH = 200f;
+    private static final float MIN_BUILDING_HEIGHT = 140f;
+    private static final float MAX_BUILDING_HEIGHT = 380f;
+
+    // --- Prédios (posição relativa ao início do pedaço) ---
+    final float[] buildingX = new float[MAX_BUILDINGS];
+    final float[] buildingWidth = new float[MAX_BUILDINGS];
+    final float[] buildingHeight = new float[MAX_BUILDINGS];
+    final byte[] buildingShade = new byte[MAX_BUILDINGS];
+    int buildingCount;
+
+    private final RandomXS128 random = new RandomXS128();
+    private long index;
+    private volatile boolean ready;
+
+    /** Marca o pedaço como pertencente a {@code index}; os prédios só valem depois de {@link #generate}. */
+    void assign(long index) {
+        this.index = index;
+        this.ready = false;
+    }
+
+    /** Roda na thread de trabalho. */
+    void generate(long worldSeed, float chunkWidth, int shadeCount) {
+        random.setSeed(worldSeed ^ (index * 0x9E3779B97F4A7C15L));
+        int count = MIN_BUILDINGS + random.nextInt(MAX_BUILDINGS - MIN_BUILDINGS + 1);
+        float slotWidth = chunkWidth / count;
+        for (int i = 0; i < count; i++) {
+            float width = Math.min(slotWidth, MIN_BUILDING_WIDTH + random.nextFloat() * (MAX_BUILDING_WIDTH - MIN_BUILDING_WIDTH));
+            buildingX[i] = i * slotWidth + random.nextFloat() * (slotWidth - width);
+            buildingWidth[i] = width;
+            buildingHeight[i] = MIN_BUILDING_HEIGHT + random.nextFloat() * (MAX_BUILDING_HEIGHT - MIN_BUILDING_HEIGHT);
+            buildingShade[i] = (byte) random.nextInt(shadeCount);
+        }
+        buildingCount = count;
+        ready = true;
+    }
+
+    @Override
+    public void reset() {
+        buildingCount = 0;
+        ready = false;
+    }
+
+    public long getIndex() { return index; }
+    public boolean isReady() { return ready; }
+}
@@ -0,0 +1,127 @@
+package br.mackenzie;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Fase ampla das colisões: uma grade uniforme em coordenadas de mundo, com as células
+ * espalhadas num número fixo de baldes (o mundo não tem fim em X). Cada objeto só é comparado
+ * com os que estão nas mesmas células, então o custo fica próximo de O(n).
+ * <p>
+ * Os arrays internos só crescem quando a capacidade é ultrapassada; depois disso
+ * {@link #clear()}, {@link #insert(Rectangle, Object)} e {@link #query(Rectangle, Array)} não
+ * alocam memória. Os retângulos inseridos não são copiados e devem continuar válidos até a
+ * próxima chamada a {@link #clear()}.
+ */
+public class CollisionGrid<T> {
+    private final float cellSize;
+    private final int bucketMask;
+    private final int[] bucketHeads;
+
+    // --- Entradas (um objeto aparece em uma entrada por célula que ocupa) ---
+    private int[] entryNext;
+    private int[] entryItem;
+    private int entryCount;
+
+    // --- Objetos ---
+    private Rectangle[] itemBounds;
+    private Object[] itemOwners;
+    private int[] itemQueryStamps;
+    private int itemCount;
+    private int queryStamp;
+
+    public CollisionGrid(float cellSize, int bucketCount, int initialCapacity) {
+        if (cellSize <= 0) throw new IllegalArgumentException("cellSize must be positive: " + cellSize);
+        this.cellSize = cellSize;
+        int buckets = MathUtils.nextPowerOfTwo(Math.max(1, bucketCount));
+        this.bucketMask = buckets - 1;
+        this.bucketHeads = new int[buckets];
+        Arrays.fill(bucketHeads, -1);
+
+        int capacity = Math.max(1, initialCapacity);
+        entryNext = new int[capacity * 2];
+        entryItem = new int[capacity * 2];
+        itemBounds = new Rectangle[capacity];
+        itemOwners = new Object[capacity];
+        itemQueryStamps = new int[capacity];
+    }
+
+    public void clear() {
+        Arrays.fill(bucketHeads, -1);
+        Arrays.fill(itemBounds, 0, itemCount, null);
+        Arrays.fill(itemOwners, 0, itemCount, null);
+        entryCount = 0;
+        itemCount = 0;
+    }
+
+    public void insert(Rectangle bounds, T owner) {
+        if (itemCount == itemBounds.length) growItems();
+        int item = itemCount++;
+        itemBounds[item] = bounds;
+        itemOwners[item] = owner;
+        itemQueryStamps[item] = queryStamp;
+
+        int minCellX = cellOf(bounds.x), maxCellX = cellOf(bounds.x + bounds.width);
+        int minCellY = cellOf(bounds.y), maxCellY = cellOf(bounds.y + bounds.height);
+        for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                addEntry(bucketOf(cellX, cellY), item);
+            }
+        }
+    }
+
+    /** Preenche {@code result} com os donos dos retângulos que se sobrepõem a {@code area}. */
+    @SuppressWarnings("unchecked")
+    public void query(Rectangle area, Array<T> result) {
+        result.clear();
+        queryStamp++;
+
+        int minCellX = cellOf(area.x), maxCellX = cellOf(area.x + area.width);
+        int minCellY = cellOf(area.y), maxCellY = cellOf(area.y + area.height);
+        for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int entry = bucketHeads[bucketOf(cellX, cellY)]; entry != -1; entry = entryNext[entry]) {
+                    int item = entryItem[entry];
+                    // Um objeto pode estar em várias células (ou em baldes repetidos); testa só uma vez
+                    if (itemQueryStamps[item] == queryStamp) continue;
+                    itemQueryStamps[item] = queryStamp;
+
+                    if (itemBounds[item].overlaps(area)) {
+                        result.add((T) itemOwners[item]);
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() { return itemCount; }
+
+    private int cellOf(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private int bucketOf(int cellX, int cellY) {
+        return (cellX * 73856093 ^ cellY * 19349663) & bucketMask;
+    }
+
+    private void addEntry(int bucket, int item) {
+        if (entryCount == entryNext.length) {
+            entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+            entryItem = Arrays.copyOf(entryItem, entryCount * 2);
+        }
+        entryItem[entryCount] = item;
+        entryNext[entryCount] = bucketHeads[bucket];
+        bucketHeads[bucket] = entryCount;
+        entryCount++;
+    }
+
+    private void growItems() {
+        int capacity = itemBounds.length * 2;
+        itemBounds = Arrays.copyOf(itemBounds, capacity);
+        itemOwners = Arrays.copyOf(itemOwners, capacity);
+        itemQueryStamps = Arrays.copyOf(itemQueryStamps, capacity);
+    }
+}
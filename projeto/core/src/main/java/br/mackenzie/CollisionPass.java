@@ -0,0 +1,51 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * As colisões de um passo da simulação: reconstrói a {@link CollisionGrid} com a polícia e os
+ * itens ativos, consulta a área do jogador e entrega cada contato ao {@link Listener}.
+ * <p>
+ * A grade e a lista de contatos são reaproveitadas de um passo para o outro, então depois que as
+ * capacidades se ajustam o passo não aloca memória.
+ */
+public class CollisionPass {
+    private static final float CELL_SIZE = 128f;
+    private static final int BUCKETS = 64;
+    private static final int INITIAL_CAPACITY = 32;
+
+    /** Quem trata os contatos do jogador. */
+    public interface Listener {
+        /** A polícia alcançou o jogador. */
+        void policeReached();
+
+        /** O jogador chegou a um item; o item continua ativo até quem trata o consumir. */
+        void itemReached(WorldItem item);
+    }
+
+    private final CollisionGrid<Object> grid = new CollisionGrid<>(CELL_SIZE, BUCKETS, INITIAL_CAPACITY);
+    private final Array<Object> hits = new Array<>(false, INITIAL_CAPACITY);
+
+    /**
+     * Roda a verificação de um passo.
+     *
+     * @param itemSpawner pode ser nulo, nas partidas sem itens
+     * @return quantos contatos o jogador teve
+     */
+    public int run(PlayerCharacter player, Police police, ItemSpawner itemSpawner, Listener listener) {
+        grid.clear();
+        grid.insert(police.getBounds(), police);
+        if (itemSpawner != null) itemSpawner.addToCollisionGrid(grid);
+
+        grid.query(player.getBounds(), hits);
+        for (int i = 0; i < hits.size; i++) {
+            Object hit = hits.get(i);
+            if (hit == police) {
+                listener.policeReached();
+            } else if (hit instanceof WorldItem) {
+                listener.itemReached((WorldItem) hit);
+            }
+        }
+        return hits.size;
+    }
+}
@@ -0,0 +1,179 @@
+package br.mackenzie;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.GZIPInputStream;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.glutils.ETC1;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/**
+ * Textura comprimida com mipmaps gerada pela tarefa {@code compressBackgrounds} (KTX compactado
+ * com gzip, {@code .zktx}): DXT1 (S3TC) para as GPUs de desktop e ETC1 para as móveis.
+ * Diferente de {@link com.badlogic.gdx.graphics.glutils.KTXTextureData}, envia os blocos ETC1
+ * como ETC2 RGB8 quando a GPU não tem a extensão de ETC1 mas suporta ETC2, que aceita os mesmos
+ * blocos, e nunca descomprime na CPU: use {@link #getSupportedFormat()} para decidir antes se vale
+ * a pena carregar o arquivo, e {@link #getFileFormat(int)} para escolher qual.
+ * <p>
+ * {@link #prepare()} só lê o arquivo e pode rodar fora da thread de renderização.
+ */
+public class CompressedTextureData implements TextureData {
+    public static final int GL_COMPRESSED_RGB_S3TC_DXT1 = 0x83F0;
+    private static final int GL_COMPRESSED_RGB8_ETC2 = 0x9274;
+    private static final int HEADER_SIZE = 64;
+    private static final int INTERNAL_FORMAT_OFFSET = 28;
+    private static final int WIDTH_OFFSET = 36;
+    private static final int HEIGHT_OFFSET = 40;
+    private static final int MIPMAP_LEVELS_OFFSET = 56;
+    private static final int KEY_VALUE_BYTES_OFFSET = 60;
+
+    private final FileHandle file;
+    private final int glInternalFormat;
+    private ByteBuffer data;
+    private int width;
+    private int height;
+    private int mipmapLevels;
+    private int residentBytes;
+
+    /** @param glInternalFormat formato devolvido por {@link #getSupportedFormat()} */
+    public CompressedTextureData(FileHandle file, int glInternalFormat) {
+        this.file = file;
+        this.glInternalFormat = glInternalFormat;
+    }
+
+    /**
+     * Formato GL usado para enviar os blocos a esta GPU, ou 0 se ela não aceita nenhum que fique
+     * comprimido na memória de vídeo. Deve ser chamado na thread de renderização.
+     */
+    public static int getSupportedFormat() {
+        if (Gdx.graphics.supportsExtension("GL_EXT_texture_compression_s3tc")) return GL_COMPRESSED_RGB_S3TC_DXT1;
+        if (Gdx.graphics.supportsExtension("GL_OES_compressed_ETC1_RGB8_texture")) return ETC1.ETC1_RGB8_OES;
+        // ETC2 é obrigatório no OpenGL ES 3. No desktop ele só vem com GL_ARB_ES3_compatibility, e o
+        // driver o descomprime ao enviar: ocuparia na GPU o mesmo que o PNG
+        if (Gdx.graphics.isGL30Available() && Gdx.app.getType() != Application.ApplicationType.Desktop) {
+            return GL_COMPRESSED_RGB8_ETC2;
+        }
+        return 0;
+    }
+
+    /** Formato dos blocos no arquivo para o formato de envio: ETC2 usa os mesmos blocos do ETC1. */
+    public static int getFileFormat(int glInternalFormat) {
+        return glInternalFormat == GL_COMPRESSED_RGB_S3TC_DXT1 ? GL_COMPRESSED_RGB_S3TC_DXT1 : ETC1.ETC1_RGB8_OES;
+    }
+
+    /** Nome curto do formato de envio, para o log. */
+    public static String describe(int glInternalFormat) {
+        switch (glInternalFormat) {
+            case GL_COMPRESSED_RGB_S3TC_DXT1: return "DXT1";
+            case GL_COMPRESSED_RGB8_ETC2: return "ETC2";
+            default: return "ETC1";
+        }
+    }
+
+    @Override
+    public void prepare() {
+        if (data != null) throw new GdxRuntimeException("Already prepared");
+
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(file.read())));
+            int size = in.readInt();
+            byte[] bytes = new byte[size];
+            in.readFully(bytes);
+            data = BufferUtils.newUnsafeByteBuffer(size);
+            data.put(bytes);
+            ((Buffer) data).position(0);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't load compressed texture " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+
+        data.order(ByteOrder.LITTLE_ENDIAN);
+        if (data.getInt(INTERNAL_FORMAT_OFFSET) != getFileFormat(glInternalFormat)) {
+            disposePreparedData();
+            throw new GdxRuntimeException("Not a " + describe(getFileFormat(glInternalFormat)) + " texture: " + file);
+        }
+        width = data.getInt(WIDTH_OFFSET);
+        height = data.getInt(HEIGHT_OFFSET);
+        mipmapLevels = Math.max(1, data.getInt(MIPMAP_LEVELS_OFFSET));
+
+        residentBytes = 0;
+        int position = HEADER_SIZE + data.getInt(KEY_VALUE_BYTES_OFFSET);
+        for (int level = 0; level < mipmapLevels; level++) {
+            int levelSize = data.getInt(position);
+            residentBytes += levelSize;
+            position += 4 + ((levelSize + 3) & ~3);
+        }
+    }
+
+    @Override
+    public void consumeCustomData(int target) {
+        if (data == null) throw new GdxRuntimeException("Call prepare() before consumeCustomData()");
+
+        int position = HEADER_SIZE + data.getInt(KEY_VALUE_BYTES_OFFSET);
+        for (int level = 0; level < mipmapLevels; level++) {
+            int levelSize = data.getInt(position);
+            ((Buffer) data).position(position + 4);
+            ByteBuffer levelData = data.slice();
+            ((Buffer) levelData).limit(levelSize);
+            Gdx.gl.glCompressedTexImage2D(target, level, glInternalFormat,
+                Math.max(1, width >> level), Math.max(1, height >> level), 0, levelSize, levelData);
+            position += 4 + ((levelSize + 3) & ~3);
+        }
+        disposePreparedData();
+    }
+
+    /** Libera os dados lidos por {@link #prepare()} sem enviá-los à GPU. */
+    public void disposePreparedData() {
+        if (data != null) BufferUtils.disposeUnsafeByteBuffer(data);
+        data = null;
+    }
+
+    /** Bytes ocupados na GPU por todos os níveis de mipmap; válido depois de {@link #prepare()}. */
+    public int getResidentBytes() { return residentBytes; }
+
+    public int getMipmapLevels() { return mipmapLevels; }
+
+    @Override
+    public TextureDataType getType() { return TextureDataType.Custom; }
+
+    @Override
+    public boolean isPrepared() { return data != null; }
+
+    @Override
+    public Pixmap consumePixmap() {
+        throw new GdxRuntimeException("This TextureData implementation does not return a Pixmap");
+    }
+
+    @Override
+    public boolean disposePixmap() {
+        throw new GdxRuntimeException("This TextureData implementation does not return a Pixmap");
+    }
+
+    @Override
+    public int getWidth() { return width; }
+
+    @Override
+    public int getHeight() { return height; }
+
+    @Override
+    public Pixmap.Format getFormat() { return Pixmap.Format.RGB888; }
+
+    @Override
+    public boolean useMipMaps() { return mipmapLevels > 1; }
+
+    @Override
+    public boolean isManaged() { return false; }
+}
@@ -0,0 +1,69 @@
+package br.mackenzie;
+
+/**
+ * Laço de passo fixo da simulação: acumula o tempo dos quadros, diz quantos passos de
+ * {@code 1 / simulationHz} cabem nele e entrega a cada passo os toques enfileirados até o seu fim.
+ * <p>
+ * O último passo do quadro termina no instante do quadro e os anteriores terminam um passo antes
+ * cada um. Os toques ficam quantizados ao passo: o instante de cada um é o da leitura dos eventos
+ * pelo backend, não o do pressionamento, então os toques lidos juntos caem todos no primeiro passo
+ * que termina depois da leitura. Nenhum se perde nem se junta a outro; os que ainda não couberem
+ * ficam na fila para o quadro seguinte.
+ */
+public class FixedStepLoop {
+    /** Um passo da simulação. */
+    public interface Step {
+        /** Roda um passo com os toques que chegaram até o fim dele; devolve falso para encerrar o quadro. */
+        boolean run(int taps);
+    }
+
+    private final float step;
+    private final float maxFrameTime;
+    private final InputEventQueue events;
+    private final int tapKey;
+    private float accumulator;
+
+    /**
+     * @param maxFrameTime maior tempo de quadro aceito; um quadro mais longo, como depois de uma
+     *                     travada, não vira uma rajada de passos
+     * @param tapKey       tecla cujos pressionamentos contam como toques
+     */
+    public FixedStepLoop(int simulationHz, float maxFrameTime, InputEventQueue events, int tapKey) {
+        if (simulationHz <= 0) throw new IllegalArgumentException("simulationHz must be positive: " + simulationHz);
+        this.step = 1f / simulationHz;
+        this.maxFrameTime = maxFrameTime;
+        this.events = events;
+        this.tapKey = tapKey;
+    }
+
+    /**
+     * Roda os passos que cabem em {@code deltaTime} mais o que sobrou dos quadros anteriores.
+     *
+     * @param frameNanos instante do quadro, na mesma base dos instantes da fila de eventos
+     * @return quantos passos rodaram
+     */
+    public int advance(float deltaTime, long frameNanos, Step simulation) {
+        accumulator += Math.min(deltaTime, maxFrameTime);
+        int steps = 0;
+        while (accumulator >= step) {
+            long stepEndNanos = frameNanos - (long) ((accumulator - step) * 1_000_000_000L);
+            int taps = events.drainKeyDowns(tapKey, stepEndNanos);
+            accumulator -= step;
+            steps++;
+            if (!simulation.run(taps)) break;
+        }
+        return steps;
+    }
+
+    /** Fração do próximo passo já acumulada, entre 0 e 1; usada para interpolar o desenho. */
+    public float getInterpolationAlpha() {
+        return accumulator / step;
+    }
+
+    public float getStep() { return step; }
+
+    /** Descarta o tempo acumulado, no início de uma partida. */
+    public void reset() {
+        accumulator = 0;
+    }
+}
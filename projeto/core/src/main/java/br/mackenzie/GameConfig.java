@@ -0,0 +1,90 @@
+package br.mackenzie;
+
+import br.mackenzie.scores.HighScoreStore;
+import br.mackenzie.sim.ChaseRules;
+import br.mackenzie.sim.InputRecording;
+import br.mackenzie.sim.SimulationBatch;
+
+/** Opções de execução do jogo, preenchidas pelo launcher de cada plataforma. */
+public class GameConfig {
+    public static final int DEFAULT_SIMULATION_HZ = 60;
+    public static final long DEFAULT_WORLD_SEED = SimulationBatch.DEFAULT_WORLD_SEED;
+    public static final String DEFAULT_PROFILE = "default";
+
+    private int simulationHz = DEFAULT_SIMULATION_HZ;
+    private ChaseRules chaseRules = new ChaseRules();
+    private long worldSeed = DEFAULT_WORLD_SEED;
+    private int crowdSize;
+    private String profile = DEFAULT_PROFILE;
+    private String recordPath;
+    private InputRecording replay;
+
+    public int getSimulationHz() { return simulationHz; }
+    public ChaseRules getChaseRules() { return chaseRules; }
+    public long getWorldSeed() { return worldSeed; }
+    public int getCrowdSize() { return crowdSize; }
+    public String getProfile() { return profile; }
+    public String getRecordPath() { return recordPath; }
+    public InputRecording getReplay() { return replay; }
+
+    /** Frequência fixa da simulação (física, colisões e pontuação), independente da taxa de quadros. */
+    public GameConfig setSimulationHz(int simulationHz) {
+        if (simulationHz <= 0) {
+            throw new IllegalArgumentException("simulationHz must be positive: " + simulationHz);
+        }
+        this.simulationHz = simulationHz;
+        return this;
+    }
+
+    public GameConfig setChaseRules(ChaseRules chaseRules) {
+        this.chaseRules = chaseRules;
+        return this;
+    }
+
+    /** Semente dos obstáculos, dos bônus e da cidade sem fim; cada partida recomeça a partir dela. */
+    public GameConfig setWorldSeed(long worldSeed) {
+        this.worldSeed = worldSeed;
+        return this;
+    }
+
+    /** Número de policiais extras que seguem a polícia ({@link PoliceCrowd}); 0 desliga o modo multidão. */
+    public GameConfig setCrowdSize(int crowdSize) {
+        if (crowdSize < 0) {
+            throw new IllegalArgumentException("crowdSize must not be negative: " + crowdSize);
+        }
+        this.crowdSize = crowdSize;
+        return this;
+    }
+
+    /** Perfil cujos recordes e histórico de partidas são usados; só letras, números, '-' e '_'. */
+    public GameConfig setProfile(String profile) {
+        if (!HighScoreStore.isValidProfile(profile)) {
+            throw new IllegalArgumentException("Invalid profile name: " + profile);
+        }
+        this.profile = profile;
+        return this;
+    }
+
+    /**
+     * Grava as entradas de cada partida neste arquivo (armazenamento local). A partir da
+     * segunda partida o número dela é acrescentado ao nome.
+     */
+    public GameConfig setRecordPath(String recordPath) {
+        this.recordPath = recordPath;
+        return this;
+    }
+
+    /**
+     * Reproduz a partida gravada no lugar do teclado. A frequência da simulação, a semente do
+     * mundo, o modo sem fim e os itens passam a ser os da gravação.
+     */
+    public GameConfig setReplay(InputRecording replay) {
+        this.replay = replay;
+        if (replay != null) {
+            setSimulationHz(replay.getSimulationHz());
+            setWorldSeed(replay.getWorldSeed());
+            chaseRules.setEndless(replay.isEndless()).setItemsEnabled(replay.isItemsEnabled());
+        }
+        return this;
+    }
+}
@@ -0,0 +1,57 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * Pontuação e fase no canto da tela. O texto é montado num {@link StringBuilder} reaproveitado
+ * e os glifos ficam num {@link BitmapFontCache} que só é refeito quando um dos valores muda;
+ * nos outros quadros o HUD é um único envio de vértices já prontos, sem criar objetos.
+ */
+public class GameHud {
+    private static final String SCORE_LABEL = "Score: ";
+    private static final String PHASE_LABEL = "Fase: ";
+    private static final float MARGIN_X = 10f;
+    private static final float SCORE_MARGIN_TOP = 10f;
+    private static final float PHASE_MARGIN_TOP = 50f;
+
+    private final BitmapFontCache cache;
+    private final StringBuilder text = new StringBuilder(32);
+    private int shownScore = -1;
+    private int shownPhase = -1;
+    private boolean layoutDirty = true;
+
+    /** @param font fonte já configurada (cor e escala); continua pertencendo a quem chama */
+    public GameHud(BitmapFont font) {
+        this.cache = new BitmapFontCache(font);
+    }
+
+    /** Atualiza os valores mostrados; a fase é a exibida ao jogador, começando em 1. */
+    public void update(int score, int phase) {
+        if (!layoutDirty && score == shownScore && phase == shownPhase) return;
+        shownScore = score;
+        shownPhase = phase;
+        layoutDirty = false;
+
+        float top = Gdx.graphics.getHeight();
+        cache.clear();
+        text.clear();
+        text.append(SCORE_LABEL).append(score);
+        cache.addText(text, MARGIN_X, top - SCORE_MARGIN_TOP);
+        text.clear();
+        text.append(PHASE_LABEL).append(phase);
+        cache.addText(text, MARGIN_X, top - PHASE_MARGIN_TOP);
+    }
+
+    /** Refaz o texto no próximo {@link #update(int, int)}, por exemplo depois de mudar o tamanho da tela. */
+    public void invalidate() {
+        layoutDirty = true;
+    }
+
+    public void draw(SpriteBatch spriteBatch) {
+        cache.draw(spriteBatch);
+    }
+}
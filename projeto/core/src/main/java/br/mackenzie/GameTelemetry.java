@@ -0,0 +1,103 @@
+package br.mackenzie;
+
+/**
+ * Pontos do jogo que interessam ao investigar travadas: cada quadro, cada troca de fase, cada
+ * textura carregada e cada fim de partida. O jogo só chama os métodos estáticos daqui; quem
+ * registra os eventos é o {@link Sink} instalado pelo launcher, como o que grava no Java Flight
+ * Recorder. Sem nenhum instalado, as chamadas caem num {@link Sink} vazio que o JIT elimina.
+ * <p>
+ * Os pares {@code ...Begin}/{@code ...End} medem a duração do que acontece entre eles. Quadros e
+ * trocas de fase só acontecem na thread de renderização; cargas de textura também acontecem nas
+ * threads de trabalho do {@link AssetPreloader} e do {@link BackgroundStreamer}, e os pares de
+ * cada thread não se misturam.
+ */
+public final class GameTelemetry {
+    // Etapas de uma carga de textura
+    public static final String STAGE_DECODE = "decode";
+    public static final String STAGE_UPLOAD = "upload";
+    public static final String STAGE_LOAD = "load";
+
+    // Fins de partida
+    public static final String RUN_GAME_OVER = "game over";
+    public static final String RUN_VICTORY = "victory";
+    public static final String RUN_RESTART = "restart";
+    public static final String RUN_ABANDONED = "abandoned";
+
+    /** Destino dos eventos. */
+    public interface Sink {
+        void frameBegin();
+
+        /**
+         * @param simulationNanos tempo gasto nos passos fixos da simulação durante o quadro; o
+         *                        resto do quadro é desenho
+         * @param screen          tela mostrada, como {@code "playing"} ou {@code "paused"}
+         */
+        void frameEnd(long simulationNanos, int simulationSteps, String screen);
+
+        void phaseChangeBegin();
+
+        void phaseChangeEnd(int previousPhase, int newPhase, int score);
+
+        void assetLoadBegin();
+
+        /** @param stage uma das constantes {@code STAGE_*} */
+        void assetLoadEnd(String asset, String stage);
+
+        /** @param outcome uma das constantes {@code RUN_*} */
+        void runEnded(String outcome, int score, int phase, int ticks);
+    }
+
+    private static final Sink NONE = new Sink() {
+        @Override public void frameBegin() {}
+        @Override public void frameEnd(long simulationNanos, int simulationSteps, String screen) {}
+        @Override public void phaseChangeBegin() {}
+        @Override public void phaseChangeEnd(int previousPhase, int newPhase, int score) {}
+        @Override public void assetLoadBegin() {}
+        @Override public void assetLoadEnd(String asset, String stage) {}
+        @Override public void runEnded(String outcome, int score, int phase, int ticks) {}
+    };
+
+    private static Sink sink = NONE;
+
+    private GameTelemetry() {}
+
+    /**
+     * Passa a enviar os eventos para {@code newSink}, ou para nenhum lugar se for {@code null}.
+     * Deve ser chamado antes de o jogo começar, na thread que cria a aplicação.
+     */
+    public static void install(Sink newSink) {
+        sink = newSink != null ? newSink : NONE;
+    }
+
+    public static boolean isInstalled() {
+        return sink != NONE;
+    }
+
+    public static void frameBegin() {
+        sink.frameBegin();
+    }
+
+    public static void frameEnd(long simulationNanos, int simulationSteps, String screen) {
+        sink.frameEnd(simulationNanos, simulationSteps, screen);
+    }
+
+    public static void phaseChangeBegin() {
+        sink.phaseChangeBegin();
+    }
+
+    public static void phaseChangeEnd(int previousPhase, int newPhase, int score) {
+        sink.phaseChangeEnd(previousPhase, newPhase, score);
+    }
+
+    public static void assetLoadBegin() {
+        sink.assetLoadBegin();
+    }
+
+    public static void assetLoadEnd(String asset, String stage) {
+        sink.assetLoadEnd(asset, stage);
+    }
+
+    public static void runEnded(String outcome, int score, int phase, int ticks) {
+        sink.runEnded(outcome, score, phase, ticks);
+    }
+}
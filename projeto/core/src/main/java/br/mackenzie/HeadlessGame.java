@@ -0,0 +1,91 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+
+import br.mackenzie.sim.SimulationBatch;
+
+/**
+ * O jogo inteiro sem janela: a {@link Main} de verdade, com o {@link HeadlessGl}, avançada um
+ * passo da simulação por vez. Refaz gravações ({@code --replay-headless=}) e serve de referência
+ * nos testes que comparam o jogo com a {@link SimulationBatch}; não há uma segunda implementação
+ * das regras para manter igual.
+ * <p>
+ * O backend sem janela ({@code Gdx.app}, {@code Gdx.files}, {@code Gdx.graphics} e
+ * {@code Gdx.input}) já tem de estar iniciado, por exemplo por um {@code HeadlessApplication}.
+ */
+public final class HeadlessGame implements Disposable {
+    private static final long MAX_LOADING_NANOS = 60_000_000_000L;
+    // O primeiro quadro depois de uma tela parada não avança a simulação (ver PowerMode)
+    private static final int MAX_FRAMES_PER_STEP = 4;
+    private static final String PLAYING = "playing";
+
+    private final Main main;
+    private final float step;
+
+    /**
+     * Monta o jogo e passa pela carga e pela tela inicial até a partida começar.
+     *
+     * @param width  largura da janela simulada; junto com {@code height} define o mundo visível
+     */
+    public HeadlessGame(GameConfig config, int width, int height) {
+        if (Gdx.gl == null) {
+            GL20 gl = HeadlessGl.create();
+            Gdx.gl = gl;
+            Gdx.gl20 = gl;
+        }
+        ShaderProgram.pedantic = false;
+        step = 1f / config.getSimulationHz();
+        main = new Main(config);
+        main.create();
+        main.resize(width, height);
+
+        long deadline = System.nanoTime() + MAX_LOADING_NANOS;
+        while (!PLAYING.equals(main.getScreenName())) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException("The game never left the " + main.getScreenName() + " screen");
+            }
+            main.render(step);
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Avança a partida um passo da simulação.
+     *
+     * @return falso, sem avançar, se a partida já terminou
+     */
+    public boolean step() {
+        if (getStatus() != SimulationBatch.RUNNING) return false;
+        int tick = main.getSimulationTick();
+        for (int frame = 0; frame < MAX_FRAMES_PER_STEP && main.getSimulationTick() == tick; frame++) {
+            main.render(step);
+        }
+        if (main.getSimulationTick() != tick + 1) {
+            throw new IllegalStateException("Expected one simulation step from tick " + tick + " but reached "
+                + main.getSimulationTick());
+        }
+        return true;
+    }
+
+    public int getTick() { return main.getSimulationTick(); }
+    public int getScore() { return main.getScore(); }
+    public int getPhase() { return main.getPhase(); }
+    /** {@link SimulationBatch#RUNNING}, {@link SimulationBatch#CAUGHT} ou {@link SimulationBatch#ESCAPED}. */
+    public byte getStatus() { return main.getRunStatus(); }
+    public float getPlayerX() { return main.getPlayerX(); }
+    public float getPlayerSpeed() { return main.getPlayerSpeed(); }
+    public float getPoliceX() { return main.getPoliceX(); }
+    public float getCameraX() { return main.getCameraX(); }
+    public int getActiveItemCount() { return main.getActiveItemCount(); }
+    public int getObstacleHits() { return main.getObstacleHits(); }
+    public int getVaultedObstacles() { return main.getVaultedObstacles(); }
+    public int getCollectedPickups() { return main.getCollectedPickups(); }
+
+    @Override
+    public void dispose() {
+        main.dispose();
+    }
+}
@@ -0,0 +1,43 @@
+package br.mackenzie;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.graphics.GL20;
+
+/**
+ * GL que não desenha nada, para rodar o jogo sem janela: diz que os shaders compilaram e que os
+ * FrameBuffers estão completos, e entrega identificadores novos a cada {@code glGen*} e
+ * {@code glCreate*}. As outras chamadas devolvem zero.
+ */
+public final class HeadlessGl {
+    private HeadlessGl() {}
+
+    public static GL20 create() {
+        int[] nextHandle = {0};
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] {GL20.class},
+            (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+                    IntBuffer params = (IntBuffer) args[2];
+                    int pname = (Integer) args[1];
+                    boolean ok = pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS;
+                    params.put(params.position(), ok ? GL20.GL_TRUE : 0);
+                    return null;
+                }
+                if (name.equals("glCheckFramebufferStatus")) return GL20.GL_FRAMEBUFFER_COMPLETE;
+                if (name.startsWith("glGen") || name.startsWith("glCreate")) return ++nextHandle[0];
+                return defaultValue(method);
+            });
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == int.class) return 0;
+        if (type == boolean.class) return false;
+        if (type == float.class) return 0f;
+        if (type == String.class) return "";
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package br.mackenzie;
+
+/**
+ * Fila circular de eventos de tecla com o instante registrado pelo backend, para um produtor e um
+ * consumidor sem trava. O produtor só escreve {@link #writeIndex} e o consumidor só escreve
+ * {@link #readIndex}; a escrita volátil do índice publica os dados do evento para a outra thread.
+ * <p>
+ * Em todos os backends atuais os eventos chegam na thread de renderização, a mesma que consome,
+ * mas a fila continua correta se um backend entregá-los em outra thread.
+ */
+public class InputEventQueue {
+    public static final byte KEY_DOWN = 0;
+    public static final byte KEY_UP = 1;
+
+    private final int mask;
+    private final long[] timestamps;
+    private final int[] keycodes;
+    private final byte[] types;
+    private volatile long writeIndex;
+    private volatile long readIndex;
+    private int droppedEvents;
+
+    /** @param capacity número máximo de eventos ainda não consumidos; arredondado para uma potência de 2 */
+    public InputEventQueue(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        if (size <= 0) size = 1;
+        mask = size - 1;
+        timestamps = new long[size];
+        keycodes = new int[size];
+        types = new byte[size];
+    }
+
+
+    // === PRODUTOR ===
+
+    /** Enfileira um evento; com a fila cheia ele é descartado e contado em {@link #getDroppedEvents()}. */
+    public boolean offer(byte type, int keycode, long timestampNanos) {
+        long write = writeIndex;
+        if (write - readIndex > mask) {
+            droppedEvents++;
+            return false;
+        }
+        int slot = (int) write & mask;
+        timestamps[slot] = timestampNanos;
+        keycodes[slot] = keycode;
+        types[slot] = type;
+        writeIndex = write + 1;
+        return true;
+    }
+
+    public int getDroppedEvents() { return droppedEvents; }
+
+
+    // === CONSUMIDOR ===
+
+    public boolean isEmpty() {
+        return readIndex == writeIndex;
+    }
+
+    /** Instante do evento mais antigo; só vale se a fila não estiver vazia. */
+    public long peekTimestamp() { return timestamps[(int) readIndex & mask]; }
+    public int peekKeycode() { return keycodes[(int) readIndex & mask]; }
+    public byte peekType() { return types[(int) readIndex & mask]; }
+
+    /** Descarta o evento mais antigo, depois de lido com os métodos {@code peek}. */
+    public void poll() {
+        if (!isEmpty()) readIndex = readIndex + 1;
+    }
+
+    /**
+     * Consome os eventos até {@code untilNanos} e devolve quantas vezes a tecla foi pressionada
+     * entre eles; os outros eventos são descartados.
+     */
+    public int drainKeyDowns(int keycode, long untilNanos) {
+        int count = 0;
+        while (!isEmpty() && peekTimestamp() <= untilNanos) {
+            if (peekType() == KEY_DOWN && peekKeycode() == keycode) count++;
+            poll();
+        }
+        return count;
+    }
+
+    /** Descarta todos os eventos já enfileirados. */
+    public void clear() {
+        readIndex = writeIndex;
+    }
+}
@@ -0,0 +1,120 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+import br.mackenzie.sim.ChaseRules;
+
+/**
+ * Coloca obstáculos e bônus à frente da câmera e os devolve ao {@link Pool} quando saem da
+ * tela pela esquerda. O pool é preenchido na criação e o número de itens ativos tem um teto,
+ * então durante a partida nenhum objeto é criado e a memória usada não cresce.
+ * <p>
+ * As distâncias, tamanhos e sorteios vêm de {@link ChaseRules}, na mesma ordem em que a
+ * {@link br.mackenzie.sim.SimulationBatch} os repete; com a mesma semente, as duas geram os
+ * mesmos itens. Só existe quando {@link ChaseRules#isItemsEnabled()} está ligado.
+ */
+public class ItemSpawner {
+    // --- Constantes ---
+    private static final Color OBSTACLE_COLOR = new Color(0.55f, 0.35f, 0.15f, 1f);
+    private static final Color PICKUP_COLOR = Color.GOLD;
+
+    // --- Estado ---
+    private final ChaseRules rules;
+    private final int maxActiveItems;
+    private final Pool<WorldItem> pool;
+    private final Array<WorldItem> activeItems;
+    private final RandomXS128 random;
+    private float nextSpawnX;
+
+    public ItemSpawner(long seed, ChaseRules rules) {
+        this.rules = rules;
+        this.maxActiveItems = rules.getMaxActiveItems();
+        this.random = new RandomXS128(seed);
+        this.pool = new Pool<WorldItem>(maxActiveItems, maxActiveItems) {
+            @Override
+            protected WorldItem newObject() {
+                return new WorldItem();
+            }
+        };
+        this.activeItems = new Array<>(false, maxActiveItems);
+        pool.fill(maxActiveItems);
+    }
+
+    /** Recomeça a sequência de itens; com a mesma semente, o mesmo trajeto encontra os mesmos itens. */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /** Remove todos os itens e recomeça a gerar a partir de {@code firstSpawnX}. */
+    public void reset(float firstSpawnX) {
+        pool.freeAll(activeItems);
+        activeItems.clear();
+        nextSpawnX = firstSpawnX;
+    }
+
+    public void update(float cameraX, float viewportWidth) {
+        for (int i = activeItems.size - 1; i >= 0; i--) {
+            if (activeItems.get(i).getRight() < cameraX) {
+                pool.free(activeItems.removeIndex(i));
+            }
+        }
+
+        float spawnLimitX = rules.itemSpawnLimitX(cameraX, viewportWidth);
+        while (nextSpawnX < spawnLimitX) {
+            if (activeItems.size < maxActiveItems) {
+                spawn(nextSpawnX);
+            }
+            nextSpawnX += rules.itemSpawnGap(random.nextFloat());
+        }
+    }
+
+    private void spawn(float worldX) {
+        WorldItem item = pool.obtain();
+        boolean pickup = rules.isPickupRoll(random.nextFloat());
+        item.set(pickup ? WorldItem.Type.PICKUP : WorldItem.Type.OBSTACLE, worldX,
+            rules.itemY(pickup), rules.itemWidth(pickup), rules.itemHeight(pickup));
+        activeItems.add(item);
+    }
+
+    /** Desloca os itens ativos e o próximo ponto de geração junto com a origem do mundo. */
+    public void shiftOrigin(float shift) {
+        for (int i = 0; i < activeItems.size; i++) {
+            activeItems.get(i).getBounds().x -= shift;
+        }
+        nextSpawnX -= shift;
+    }
+
+    /** Devolve ao pool um item que foi recolhido ou atingido. */
+    public void consume(WorldItem item) {
+        if (activeItems.removeValue(item, true)) {
+            pool.free(item);
+        }
+    }
+
+    public void addToCollisionGrid(CollisionGrid<Object> collisionGrid) {
+        for (int i = 0; i < activeItems.size; i++) {
+            WorldItem item = activeItems.get(i);
+            collisionGrid.insert(item.getBounds(), item);
+        }
+    }
+
+    /** Desenha, em coordenadas do mundo, os itens que aparecem em {@code visibleArea}; os gerados à frente ficam de fora. */
+    public void render(SpriteBatch spriteBatch, Texture whitePixelTexture, Rectangle visibleArea) {
+        for (int i = 0; i < activeItems.size; i++) {
+            WorldItem item = activeItems.get(i);
+            Rectangle bounds = item.getBounds();
+            if (!bounds.overlaps(visibleArea)) continue;
+            spriteBatch.setColor(item.getType() == WorldItem.Type.PICKUP ? PICKUP_COLOR : OBSTACLE_COLOR);
+            spriteBatch.draw(whitePixelTexture, bounds.x, bounds.y, bounds.width, bounds.height);
+        }
+        spriteBatch.setColor(Color.WHITE);
+    }
+
+    public int getActiveCount() { return activeItems.size; }
+}
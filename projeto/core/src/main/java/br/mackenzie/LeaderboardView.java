@@ -0,0 +1,67 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.StringBuilder;
+
+import br.mackenzie.scores.HighScoreStore;
+import br.mackenzie.scores.TopScores;
+
+/**
+ * Placar mostrado nas telas de fim de partida. Lê o último {@link TopScores} publicado pelo
+ * {@link HighScoreStore}, sem esperar o disco, e só refaz os glifos quando o placar publicado
+ * muda, como o {@link GameHud}.
+ */
+public class LeaderboardView {
+    private static final String TITLE = "Recordes";
+    private static final String ENDLESS_TITLE = "Recordes (modo sem fim)";
+    private static final String LOADING_TEXT = "Carregando recordes...";
+    private static final int MAX_ROWS = 5;
+    private static final float TOP_PERCENT = 0.38f;
+
+    private final BitmapFontCache cache;
+    private final StringBuilder text = new StringBuilder(256);
+    private TopScores shownScores;
+    private boolean shownLoaded;
+    private boolean layoutDirty = true;
+
+    /** @param font fonte já configurada (cor e escala); continua pertencendo a quem chama */
+    public LeaderboardView(BitmapFont font) {
+        this.cache = new BitmapFontCache(font);
+    }
+
+    /** @param endless mostra o placar do modo sem fim em vez do normal */
+    public void update(HighScoreStore store, boolean endless) {
+        TopScores scores = store.getTopScores(endless);
+        boolean loaded = store.isLoaded();
+        if (!layoutDirty && scores == shownScores && loaded == shownLoaded) return;
+        shownScores = scores;
+        shownLoaded = loaded;
+        layoutDirty = false;
+
+        text.clear();
+        text.append(endless ? ENDLESS_TITLE : TITLE);
+        int rows = Math.min(MAX_ROWS, scores.size());
+        for (int rank = 0; rank < rows; rank++) {
+            text.append('\n').append(rank + 1).append(".  ").append(scores.getScore(rank))
+                .append("  (fase ").append(scores.getPhase(rank) + 1).append(')');
+        }
+        if (!loaded) text.append('\n').append(LOADING_TEXT);
+
+        cache.clear();
+        float width = Gdx.graphics.getWidth();
+        cache.addText(text, 0, Gdx.graphics.getHeight() * TOP_PERCENT, width, Align.center, false);
+    }
+
+    /** Refaz o texto no próximo {@link #update}, por exemplo depois de mudar o tamanho da tela. */
+    public void invalidate() {
+        layoutDirty = true;
+    }
+
+    public void draw(SpriteBatch spriteBatch) {
+        cache.draw(spriteBatch);
+    }
+}
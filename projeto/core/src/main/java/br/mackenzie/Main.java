@@ -1,15 +1,34 @@
 package br.mackenzie;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.ExtendViewport;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+import br.mackenzie.scores.HighScoreStore;
+import br.mackenzie.sim.ChaseRules;
+import br.mackenzie.sim.InputPlayback;
+import br.mackenzie.sim.InputRecording;
+import br.mackenzie.sim.SimulationBatch;
 
 public class Main implements ApplicationListener {
 
@@ -24,8 +43,6 @@ public class Main implements ApplicationListener {
     private static final Color FONT_GAME_OVER_COLOR = Color.RED;
     private static final Color VICTORY_COLOR = Color.GREEN;
     private static final Color PAUSE_BG_COLOR = new Color(0f, 0f, 0f, 0.6f);
-    private static final float ENTITY_STANDARD_WIDTH = 115f;
-    private static final float ENTITY_STANDARD_HEIGHT = 125f;
 
     // Textos
     private static final String GAME_OVER_TEXT = "GAME OVER!";
@@ -37,87 +54,220 @@ public class Main implements ApplicationListener {
 
     // Caminhos de Imagens
     private static final String START_SCREEN_IMAGE_PATH = "home-screen.png";
+    private static final String WHITE_PIXEL_KEY = "generated:white-pixel";
+    private static final String SCORES_DIRECTORY = "scores";
     private static final String[] BACKGROUND_PATHS = {
         "city1.png", "city2.png", "city3.png"
     };
+    // Camadas do fundo de cada fase, sobre a cor do céu; a cidade acompanha o chão
+    private static final int CITY_LAYER = 0;
+    private static final float CITY_SCROLL_FACTOR = 1f;
 
     // Configurações do Jogo
-    private static final float PLAYER_INITIAL_Y = 20f;
-    private static final float POLICE_INITIAL_OFFSET_X = 300f;
-    private static final float DEFAULT_ENTITY_Y_POSITION = 20f;
-    private static final int SCORE_MANAGER_INITIAL_INTERVAL = 10;
-    private static final int VICTORY_SCORE = 300;
+    // Velocidades, distâncias e limites de fase ficam em ChaseRules, compartilhadas com a simulação headless
     private static final float START_SCREEN_DISPLAY_TIME = 5f;
 
-    // Configurações de Câmera
-    private static final float CAMERA_SCROLL_THRESHOLD_LEFT_PERCENT = 0.2f;
-    private static final float CAMERA_SCROLL_THRESHOLD_RIGHT_PERCENT = 0.8f;
-    private static final float POLICE_MAX_DISTANCE_FROM_PLAYER_PERCENT = 0.75f;
+    // Carga durante a tela inicial
+    private static final long ASSET_UPLOAD_BUDGET_NANOS = 4000000L; // 4 ms de envio à GPU por quadro
+    private static final float LOADING_BAR_WIDTH_FRACTION = 0.4f;
+    private static final float LOADING_BAR_HEIGHT = 10f;
+    private static final float LOADING_BAR_Y_FRACTION = 0.08f;
+    private static final Color LOADING_BAR_BACK_COLOR = new Color(0f, 0f, 0f, 0.5f);
+    private static final Color LOADING_BAR_FILL_COLOR = new Color(1f, 1f, 1f, 0.9f);
+
+    // Simulação
+    private static final float MAX_FRAME_TIME = 0.25f;
+    private static final int INPUT_QUEUE_CAPACITY = 256;
+    private static final int TAP_KEY = com.badlogic.gdx.Input.Keys.SPACE;
+
+    // Câmera: uma unidade do mundo é um pixel de uma janela de 720 de altura. A janela mostra pelo
+    // menos MIN_WORLD_WIDTH x WORLD_HEIGHT unidades; o excesso de largura ou altura mostra mais mundo
+    private static final float WORLD_HEIGHT = 720f;
+    private static final float MIN_WORLD_WIDTH = 960f;
 
     // Configurações de Fonte
     private static final float FONT_SCORE_SCALE = 2f;
     private static final float FONT_GAME_OVER_SCALE = 4f;
 
     // Sistema de Fases
-    private static final float[] PHASE_SPEED_MULTIPLIERS = {1.0f, 1.2f, 1.38f};
-    private static final int[] PHASE_SCORE_THRESHOLDS = {100, 250, 300};
+    private static final float PHASE_PREFETCH_SCORE_FRACTION = 0.5f;
+    private static final int TRANSITION_MONITOR_FRAMES = 30;
 
 
     // === VARIÁVEIS DO JOGO ===
 
+    private final GameConfig config;
+    private final ChaseRules rules;
+
     // Estados do Jogo
     private boolean isPaused = false;
     private boolean isGameOver = false;
     private boolean isVictory = false;
     private boolean showStartScreen = true;
+    private boolean assetsLoaded = false;
 
     // Progressão
     private int currentPhase = 0;
     private float gameSpeedMultiplier = 1.0f;
     private float worldCameraX = 0;
+    private float previousWorldCameraX = 0;
     private float startScreenTimer;
+    private int transitionFramesRemaining;
+    private float worstTransitionFrameTime;
+
+    // Simulação em passo fixo
+    private final InputEventQueue inputEvents = new InputEventQueue(INPUT_QUEUE_CAPACITY);
+    private final FixedStepLoop stepLoop;
+    private final FixedStepLoop.Step simulationStep = this::runSimulationStep;
+    private float interpolationAlpha;
+    private int pendingTaps;
+    private int simulationTick;
+    private int obstacleHits;
+    private int vaultedObstacles;
+    private int collectedPickups;
+    private long frameSimulationNanos;
+    private int frameSimulationSteps;
+
+    // Gravação e Replay
+    private InputRecording recording;
+    private InputPlayback playback;
+    private int recordedRuns;
+    private boolean runFinished;
+    private boolean runIsReplay;
 
     // Gráficos e Câmera
-    private float scaledBackgroundWidth;
-    private float scaledBackgroundHeight;
+    private final OrthographicCamera worldCamera = new OrthographicCamera();
+    private final Viewport worldViewport = new ExtendViewport(MIN_WORLD_WIDTH, WORLD_HEIGHT, worldCamera);
+    private final Viewport uiViewport = new ScreenViewport();
+    private final Rectangle visibleWorldArea = new Rectangle();
     private SpriteBatch spriteBatch;
+    private ParallaxBackground parallaxBackground;
     private Texture startScreenTexture;
-    private Texture backgroundTexture;
+    private Texture whitePixelTexture;
+    private BackgroundStreamer backgroundStreamer;
+    private ChunkedCity chunkedCity;
+    private AnimationAtlas animationAtlas;
+    private AssetPreloader assetPreloader;
+    private final TextureRegistry textureRegistry = new TextureRegistry();
+    private PerformanceOverlay performanceOverlay;
+    private final PowerMode powerMode = new PowerMode();
 
     // Entidades
     private PlayerCharacter player;
     private Police police;
+    private PoliceCrowd policeCrowd;
+    private ItemSpawner itemSpawner;
+    private final CollisionPass collisionPass = new CollisionPass();
+    private final CollisionPass.Listener collisionListener = new CollisionPass.Listener() {
+        @Override
+        public void policeReached() {
+            isGameOver = true;
+        }
+
+        @Override
+        public void itemReached(WorldItem item) {
+            collectItem(item);
+        }
+    };
 
     // UI
     private ScoreManager scoreManager;
+    private GameHud hud;
+    private HighScoreStore highScoreStore;
+    private LeaderboardView leaderboardView;
     private BitmapFont scoreFont, gameOverFont, victoryFont, pauseFont, menuFont;
     private GlyphLayout gameOverLayout, victoryLayout, pauseLayout, resumeLayout, restartLayout, exitLayout;
 
+    // Pausa
+    private FrameBuffer pauseSnapshotBuffer;
+    private TextureRegion pauseSnapshotRegion;
+    private BitmapFontCache pauseTitleCache, pauseMenuCache;
+
+
+    public Main() {
+        this(new GameConfig());
+    }
+
+    public Main(GameConfig config) {
+        this.config = config;
+        this.rules = config.getChaseRules();
+        this.stepLoop = new FixedStepLoop(config.getSimulationHz(), MAX_FRAME_TIME, inputEvents, TAP_KEY);
+    }
+
 
     // === MÉTODOS PRINCIPAIS ===
 
     @Override
     public void create() {
+        StartupTimeline.phase("window");
+        Gdx.input.setInputProcessor(new TimestampedInput(inputEvents));
+        updateViewports(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         initializeGraphics();
-        initializeEntities();
-        initializeUI();
+        StartupTimeline.phase("initializeGraphics");
+        // O resto do jogo é montado em onAssetsLoaded, quando as texturas terminam de carregar
         resetGameState();
     }
 
     @Override
     public void render() {
+        render(Gdx.graphics.getDeltaTime());
+    }
+
+    /** Um quadro com {@code deltaTime} segundos desde o anterior; o {@link HeadlessGame} escolhe o tempo de cada quadro. */
+    void render(float deltaTime) {
+        GameTelemetry.frameBegin();
+        frameSimulationNanos = 0;
+        frameSimulationSteps = 0;
+        performanceOverlay.handleInput();
+        renderFrame(deltaTime);
+        performanceOverlay.endFrame(spriteBatch);
+        performanceOverlay.render(spriteBatch);
+        GameTelemetry.frameEnd(frameSimulationNanos, frameSimulationSteps, getScreenName());
+        powerMode.update(isAnimating());
+        StartupTimeline.firstFrame();
+    }
+
+    /** Se a tela muda sem entrada do jogador; as telas paradas só são redesenhadas quando algo acontece. */
+    private boolean isAnimating() {
+        if (performanceOverlay.isActive() || !assetsLoaded) return true;
+        return !showStartScreen && !isPaused && !isGameOver && !isVictory;
+    }
+
+    /** Nome da tela do quadro, para a telemetria. */
+    String getScreenName() {
+        if (!assetsLoaded) return "loading";
+        if (showStartScreen) return "start";
+        if (isPaused) return "paused";
+        if (isGameOver) return "game over";
+        if (isVictory) return "victory";
+        return "playing";
+    }
+
+    private void renderFrame(float rawDeltaTime) {
         ScreenUtils.clear(BACKGROUND_CLEAR_RED, BACKGROUND_CLEAR_GREEN, BACKGROUND_CLEAR_BLUE, BACKGROUND_CLEAR_ALPHA);
-        float deltaTime = Gdx.graphics.getDeltaTime();
+        float deltaTime = powerMode.frameTime(rawDeltaTime);
+        trackTransitionFrameTime(deltaTime);
 
         if (showStartScreen) {
-            handleStartScreen();
+            handleStartScreen(rawDeltaTime);
+            inputEvents.clear();
             return;
         }
 
-        if (handlePause()) return;
+        // Em todo quadro, inclusive no fim de partida e na pausa: o fundo pedido antes chega à GPU
+        // sem esperar a troca de fase
+        backgroundStreamer.update();
+        if (chunkedCity != null) chunkedCity.update(getRenderCameraX(), getWorldWidth());
+
+        if (handlePause()) {
+            inputEvents.clear();
+            return;
+        }
 
         if (!isGameOver) {
-            updateGame(deltaTime);
+            advanceSimulation(deltaTime);
+        } else {
+            inputEvents.clear();
         }
 
         renderGame();
@@ -125,8 +275,12 @@ public class Main implements ApplicationListener {
 
     @Override
     public void resize(int width, int height) {
-        updateBackgroundSize();
+        updateViewports(width, height);
         repositionEntities();
+        layoutPauseOverlay();
+        if (hud != null) hud.invalidate();
+        if (leaderboardView != null) leaderboardView.invalidate();
+        if (isPaused) capturePauseSnapshot();
     }
 
     @Override
@@ -134,30 +288,84 @@ public class Main implements ApplicationListener {
         disposeResources();
     }
 
+    /** Janela minimizada ou sem foco: a partida é pausada e nada é desenhado até ela voltar. */
     @Override
-    public void pause() {}
+    public void pause() {
+        if (!showStartScreen && !isGameOver && !isVictory && !isPaused) {
+            isPaused = true;
+            capturePauseSnapshot();
+        }
+        powerMode.onHidden();
+    }
 
     @Override
-    public void resume() {}
+    public void resume() {
+        powerMode.onVisible();
+    }
 
 
     // === INICIALIZAÇÃO ===
 
+    /**
+     * Carrega só o necessário para a tela inicial; o atlas e o primeiro fundo são decodificados
+     * em paralelo pelo {@link AssetPreloader} enquanto ela aparece.
+     */
     private void initializeGraphics() {
         spriteBatch = new SpriteBatch();
-        startScreenTexture = new Texture(START_SCREEN_IMAGE_PATH);
-        backgroundTexture = new Texture(BACKGROUND_PATHS[currentPhase]);
-        gameSpeedMultiplier = PHASE_SPEED_MULTIPLIERS[currentPhase];
-        updateBackgroundSize();
+        startScreenTexture = textureRegistry.acquire(START_SCREEN_IMAGE_PATH);
+        whitePixelTexture = textureRegistry.acquire(WHITE_PIXEL_KEY, this::createWhitePixelPixmap);
+        assetPreloader = new AssetPreloader();
+        parallaxBackground = new ParallaxBackground(new Color(BACKGROUND_CLEAR_RED, BACKGROUND_CLEAR_GREEN, BACKGROUND_CLEAR_BLUE, BACKGROUND_CLEAR_ALPHA));
+        backgroundStreamer = new BackgroundStreamer(BACKGROUND_PATHS);
+        backgroundStreamer.preload(currentPhase, assetPreloader);
+        animationAtlas = AnimationAtlas.preload(textureRegistry, assetPreloader);
+        assetPreloader.whenLoaded(this::onAssetsLoaded);
+        performanceOverlay = new PerformanceOverlay(whitePixelTexture);
+        if (rules.isEndless()) {
+            chunkedCity = new ChunkedCity(config.getWorldSeed(), rules.getWorldChunkWidth(), rules.getEntityY());
+        }
+        gameSpeedMultiplier = rules.phaseSpeedMultiplier(currentPhase);
+    }
+
+    /** Chamado pelo preloader quando todas as texturas estão na GPU: monta o resto do jogo. */
+    private void onAssetsLoaded() {
+        StartupTimeline.phase("assets");
+        showPhaseBackground(currentPhase);
+        initializeEntities();
+        StartupTimeline.phase("initializeEntities");
+        initializeUI();
+        StartupTimeline.phase("initializeUI");
+        startRun();
+        if (config.getReplay() != null) startPlayback(config.getReplay());
+        assetsLoaded = true;
+        StartupTimeline.ready();
     }
 
+    /** Cria as entidades na primeira vez; nas seguintes só as recoloca no início, sem alocar. */
     private void initializeEntities() {
-        player = new PlayerCharacter(Gdx.graphics.getWidth() / 2f, PLAYER_INITIAL_Y);
-        police = new Police(player.getX() - POLICE_INITIAL_OFFSET_X, PLAYER_INITIAL_Y);
+        float playerStartX = rules.playerStartX(getWorldWidth());
+        if (player == null) {
+            player = new PlayerCharacter(playerStartX, rules.getEntityY(), animationAtlas, rules);
+            police = new Police(rules.policeStartX(playerStartX), rules.getEntityY(), animationAtlas, rules);
+        } else {
+            player.reset(playerStartX, rules.getEntityY());
+            police.reset(rules.policeStartX(playerStartX), rules.getEntityY());
+        }
+        if (policeCrowd == null && config.getCrowdSize() > 0) {
+            policeCrowd = new PoliceCrowd(config.getCrowdSize(), config.getWorldSeed(), animationAtlas, rules);
+        }
+        if (policeCrowd != null) policeCrowd.reset(police.getX());
+        if (itemSpawner == null && rules.isItemsEnabled()) {
+            itemSpawner = new ItemSpawner(config.getWorldSeed(), rules);
+        }
+        if (itemSpawner != null) itemSpawner.setSeed(config.getWorldSeed());
+        resetItems();
     }
 
     private void initializeUI() {
-        scoreManager = new ScoreManager(SCORE_MANAGER_INITIAL_INTERVAL);
+        scoreManager = new ScoreManager(rules.getScorePerSecond());
+        highScoreStore = new HighScoreStore(Gdx.files.local(SCORES_DIRECTORY).file(), config.getProfile());
+        highScoreStore.setChangeListener(powerMode::requestRendering);
         initializeFonts();
     }
 
@@ -166,6 +374,7 @@ public class Main implements ApplicationListener {
         scoreFont = new BitmapFont();
         scoreFont.setColor(FONT_SCORE_COLOR);
         scoreFont.getData().setScale(FONT_SCORE_SCALE);
+        hud = new GameHud(scoreFont);
 
         // Game Over Font
         gameOverFont = new BitmapFont();
@@ -192,6 +401,11 @@ public class Main implements ApplicationListener {
         resumeLayout = new GlyphLayout(menuFont, RESUME_TEXT);
         restartLayout = new GlyphLayout(menuFont, RESTART_TEXT);
         exitLayout = new GlyphLayout(menuFont, EXIT_TEXT);
+        leaderboardView = new LeaderboardView(menuFont);
+
+        pauseTitleCache = new BitmapFontCache(pauseFont);
+        pauseMenuCache = new BitmapFontCache(menuFont);
+        layoutPauseOverlay();
     }
 
     private void resetGameState() {
@@ -200,25 +414,65 @@ public class Main implements ApplicationListener {
         isPaused = false;
         startScreenTimer = 0;
         worldCameraX = 0;
+        previousWorldCameraX = 0;
+        if (parallaxBackground != null) parallaxBackground.resetOrigin();
+        stepLoop.reset();
+        interpolationAlpha = 0;
+        pendingTaps = 0;
+        inputEvents.clear();
+        simulationTick = 0;
+        obstacleHits = 0;
+        vaultedObstacles = 0;
+        collectedPickups = 0;
     }
 
 
     // === LÓGICA DO JOGO ===
 
-    private void handleStartScreen() {
-        startScreenTimer += Gdx.graphics.getDeltaTime();
+    /** A tela inicial fica pelo menos até os recursos terminarem de carregar, mostrando o progresso. */
+    private void handleStartScreen(float deltaTime) {
+        applyUiCamera();
+        spriteBatch.begin();
+        spriteBatch.draw(startScreenTexture, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        if (!assetsLoaded) drawLoadingBar(assetPreloader.getProgress());
+        endSpriteBatch();
+
+        // Envia depois de desenhar, para o primeiro quadro custar só a imagem da tela inicial
+        if (!assetsLoaded && assetPreloader.update(ASSET_UPLOAD_BUDGET_NANOS)) {
+            // Tudo carregado: as threads de decodificação não são mais necessárias
+            assetPreloader.dispose();
+            assetPreloader = null;
+        }
+
+        startScreenTimer += deltaTime;
+        if (!assetsLoaded) return;
         if (startScreenTimer >= START_SCREEN_DISPLAY_TIME || Gdx.input.isTouched()) {
             showStartScreen = false;
+            // A tela inicial não volta a aparecer; sua textura sai da GPU
+            textureRegistry.release(START_SCREEN_IMAGE_PATH);
+            startScreenTexture = null;
+        } else {
+            // A tela é estática; só precisa de outro quadro quando o tempo de exibição acabar
+            powerMode.requestRenderingIn(START_SCREEN_DISPLAY_TIME - startScreenTimer);
         }
+    }
 
-        spriteBatch.begin();
-        spriteBatch.draw(startScreenTexture, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
-        spriteBatch.end();
+    private void drawLoadingBar(float progress) {
+        float width = Gdx.graphics.getWidth() * LOADING_BAR_WIDTH_FRACTION;
+        float x = (Gdx.graphics.getWidth() - width) / 2;
+        float y = Gdx.graphics.getHeight() * LOADING_BAR_Y_FRACTION;
+
+        spriteBatch.setColor(LOADING_BAR_BACK_COLOR);
+        spriteBatch.draw(whitePixelTexture, x, y, width, LOADING_BAR_HEIGHT);
+        spriteBatch.setColor(LOADING_BAR_FILL_COLOR);
+        spriteBatch.draw(whitePixelTexture, x, y, width * progress, LOADING_BAR_HEIGHT);
+        spriteBatch.setColor(Color.WHITE);
     }
 
     private boolean handlePause() {
         if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.ESCAPE)) {
             isPaused = !isPaused;
+            if (isPaused) capturePauseSnapshot();
         }
 
         if (isPaused) {
@@ -229,136 +483,311 @@ public class Main implements ApplicationListener {
         return false;
     }
 
+    /**
+     * Avança a simulação em passos fixos de {@link GameConfig#getSimulationHz()}, independente da
+     * taxa de quadros; o {@link FixedStepLoop} distribui os toques pelos passos. O tempo que sobra
+     * no acumulador vira o fator de interpolação do desenho.
+     */
+    private void advanceSimulation(float deltaTime) {
+        long frameNanos = TimeUtils.nanoTime();
+        frameSimulationSteps += stepLoop.advance(deltaTime, frameNanos, simulationStep);
+        interpolationAlpha = isGameOver ? 1f : stepLoop.getInterpolationAlpha();
+        frameSimulationNanos = TimeUtils.nanoTime() - frameNanos;
+    }
+
+    /** Um passo do {@link #stepLoop}; para o quadro quando a polícia alcança o jogador. */
+    private boolean runSimulationStep(int taps) {
+        pendingTaps += taps;
+        updateGame(stepLoop.getStep());
+        return !isGameOver;
+    }
+
     private void updateGame(float deltaTime) {
         if (isVictory) return;
 
+        storePreviousPositions();
+        applyTaps();
+
+        performanceOverlay.begin(PerformanceOverlay.SECTION_PLAYER);
         player.update(deltaTime);
+        performanceOverlay.end(PerformanceOverlay.SECTION_PLAYER);
+
+        performanceOverlay.begin(PerformanceOverlay.SECTION_POLICE);
         police.update(deltaTime);
+        performanceOverlay.end(PerformanceOverlay.SECTION_POLICE);
+
         scoreManager.update(deltaTime);
 
-        updateCameraAndPlayerScreenPosition();
+        performanceOverlay.begin(PerformanceOverlay.SECTION_CAMERA);
+        updateCamera();
         updatePolicePositionRelativePlayer();
+        rebaseOriginIfNeeded();
+        performanceOverlay.end(PerformanceOverlay.SECTION_CAMERA);
+
+        if (policeCrowd != null) {
+            performanceOverlay.begin(PerformanceOverlay.SECTION_CROWD);
+            policeCrowd.update(deltaTime, gameSpeedMultiplier, player.getX(), currentPhase,
+                worldCameraX, getWorldWidth());
+            performanceOverlay.end(PerformanceOverlay.SECTION_CROWD);
+        }
+
+        if (itemSpawner != null) {
+            performanceOverlay.begin(PerformanceOverlay.SECTION_ITEMS);
+            itemSpawner.update(worldCameraX, getWorldWidth());
+            performanceOverlay.end(PerformanceOverlay.SECTION_ITEMS);
+        }
+
+        performanceOverlay.begin(PerformanceOverlay.SECTION_COLLISIONS);
         checkCollisions();
-        checkPhaseTransition();
+        performanceOverlay.end(PerformanceOverlay.SECTION_COLLISIONS);
+
+        if (!isGameOver) {
+            prefetchNextPhaseBackground();
+            checkPhaseTransition();
+        }
+
+        simulationTick++;
+        if (isGameOver) {
+            finishRun(SimulationBatch.CAUGHT);
+        } else if (isVictory) {
+            finishRun(SimulationBatch.ESCAPED);
+        }
+    }
+
+    /** Aplica os toques deste passo, vindos do teclado ou do replay, e os grava. */
+    private void applyTaps() {
+        int taps = pendingTaps;
+        pendingTaps = 0;
+        if (playback != null) {
+            if (playback.isFinished(simulationTick)) {
+                Gdx.app.log("Main", "Replay input ended at tick " + simulationTick + ", keyboard enabled");
+                playback = null;
+            } else {
+                taps = playback.count(simulationTick, InputRecording.TAP);
+            }
+        }
+
+        for (; taps > 0; taps--) {
+            player.tap();
+            if (recording != null) recording.add(simulationTick, InputRecording.TAP);
+        }
     }
 
     private void renderGame() {
+        performanceOverlay.begin(PerformanceOverlay.SECTION_RENDER);
+        drawScene();
+        performanceOverlay.end(PerformanceOverlay.SECTION_RENDER);
+    }
+
+    /** O mundo pela câmera do mundo e a interface por cima, em pixels; o batch troca de projeção uma vez. */
+    private void drawScene() {
+        applyWorldCamera();
+        parallaxBackground.render(visibleWorldArea);
         spriteBatch.begin();
-        drawBackground();
         drawGameElements(spriteBatch);
+        applyUiCamera();
         drawUI(spriteBatch);
-        spriteBatch.end();
+        endSpriteBatch();
     }
 
 
     // === SISTEMA DE FASES ===
 
     private void checkPhaseTransition() {
-        if (currentPhase < PHASE_SCORE_THRESHOLDS.length - 1 &&
-            scoreManager.getScore() >= PHASE_SCORE_THRESHOLDS[currentPhase]) {
-            currentPhase++;
-            changePhase(currentPhase);
+        if (rules.shouldAdvancePhase(scoreManager.getScore(), currentPhase)) {
+            changePhase(currentPhase + 1);
         }
 
-        if (scoreManager.getScore() >= VICTORY_SCORE && !isVictory) {
+        if (rules.isVictory(scoreManager.getScore()) && !isVictory) {
             isVictory = true;
         }
     }
 
-    private void changePhase(int newPhase) {
-        currentPhase = newPhase;
+    /** Põe o fundo da fase na camada da cidade do {@link ParallaxBackground}. */
+    private void showPhaseBackground(int phase) {
+        parallaxBackground.setLayer(CITY_LAYER, backgroundStreamer.get(phase), CITY_SCROLL_FACTOR);
+    }
 
-        if (backgroundTexture != null) {
-            backgroundTexture.dispose();
+    private void prefetchNextPhaseBackground() {
+        int nextPhase = currentPhase + 1;
+        if (nextPhase < BACKGROUND_PATHS.length &&
+            scoreManager.getScore() >= rules.phaseScoreThreshold(currentPhase) * PHASE_PREFETCH_SCORE_FRACTION) {
+            backgroundStreamer.prefetch(nextPhase);
         }
+    }
 
-        backgroundTexture = new Texture(BACKGROUND_PATHS[currentPhase]);
-        gameSpeedMultiplier = PHASE_SPEED_MULTIPLIERS[currentPhase];
+    private void changePhase(int newPhase) {
+        GameTelemetry.phaseChangeBegin();
+        int previousPhase = currentPhase;
+        currentPhase = newPhase;
+
+        // Normalmente o fundo já foi decodificado e enviado à GPU por prefetchNextPhaseBackground().
+        // O da primeira fase fica na GPU a partida inteira: o reinício, inclusive pelo menu de
+        // pausa, volta a ele sem carregá-lo de novo na thread de renderização
+        showPhaseBackground(currentPhase);
+        if (previousPhase != 0) backgroundStreamer.release(previousPhase);
+        gameSpeedMultiplier = rules.phaseSpeedMultiplier(currentPhase);
 
         police.setPhase(currentPhase);
 
-        updateBackgroundSize();
+        // No modo sem fim a corrida continua de onde estava; só o fundo e a velocidade mudam
+        if (rules.resetsPositionsOnPhaseChange()) {
+            worldCameraX = 0;
+            player.setX(rules.playerStartX(getWorldWidth()));
+            police.setX(rules.policeStartX(player.getX()));
+            updateCamera();
+            storePreviousPositions();
+            resetItems();
+            if (policeCrowd != null) policeCrowd.reset(police.getX());
+        }
 
-        worldCameraX = 0;
-        player.setX(Gdx.graphics.getWidth() / 2f);
-        police.setX(player.getX() - POLICE_INITIAL_OFFSET_X);
+        transitionFramesRemaining = TRANSITION_MONITOR_FRAMES;
+        worstTransitionFrameTime = 0;
+        GameTelemetry.phaseChangeEnd(previousPhase, currentPhase, scoreManager.getScore());
     }
 
+    private void trackTransitionFrameTime(float deltaTime) {
+        if (transitionFramesRemaining <= 0) return;
 
-    // === CÂMERA E MOVIMENTO ===
+        worstTransitionFrameTime = Math.max(worstTransitionFrameTime, deltaTime);
+        transitionFramesRemaining--;
+        if (transitionFramesRemaining == 0) {
+            Gdx.app.log("Main", "Phase " + (currentPhase + 1) + " transition, worst frame time: "
+                + (worstTransitionFrameTime * 1000f) + " ms");
+        }
+    }
 
-    private void updateCameraAndPlayerScreenPosition() {
-        float playerScreenX = player.getX() - worldCameraX;
-        float leftThreshold = Gdx.graphics.getWidth() * CAMERA_SCROLL_THRESHOLD_LEFT_PERCENT;
-        float rightThreshold = Gdx.graphics.getWidth() * CAMERA_SCROLL_THRESHOLD_RIGHT_PERCENT - ENTITY_STANDARD_WIDTH; // Usa largura padrão
 
-        if (playerScreenX >= rightThreshold) {
-            worldCameraX = player.getX() - rightThreshold;
-        } else if (playerScreenX <= leftThreshold) {
-            worldCameraX = player.getX() - leftThreshold;
-        }
+    // === CÂMERA E MOVIMENTO ===
 
-        if (worldCameraX < 0) {
-            worldCameraX = 0;
-            if (player.getX() < 0) player.setX(0);
-        }
+    private void storePreviousPositions() {
+        previousWorldCameraX = worldCameraX;
+        player.storePreviousPosition();
+        police.storePreviousPosition();
+    }
 
-        float clampedScreenX = player.getX() - worldCameraX;
-        clampedScreenX = Math.max(0, Math.min(Gdx.graphics.getWidth() - ENTITY_STANDARD_WIDTH, clampedScreenX)); // Usa largura padrão
-        player.setCurrentScreenX(clampedScreenX);
+    private float getRenderCameraX() {
+        return MathUtils.lerp(previousWorldCameraX, worldCameraX, interpolationAlpha);
+    }
+
+    /** Posição da câmera na simulação; o desenho usa a posição interpolada, em {@link #applyWorldCamera()}. */
+    private void updateCamera() {
+        worldCameraX = rules.cameraXFor(player.getX(), worldCameraX, getWorldWidth());
+        if (player.getX() < 0) player.setX(0);
     }
 
     private void updatePolicePositionRelativePlayer() {
-        float maxDistance = Gdx.graphics.getWidth() * POLICE_MAX_DISTANCE_FROM_PLAYER_PERCENT;
-        float phaseDifficulty = 1.0f - (currentPhase * 0.2f);
-        float adjustedDistance = maxDistance * Math.max(0.4f, phaseDifficulty);
+        police.setX(rules.policeXAfterCatchUp(police.getX(), player.getX(), currentPhase, getWorldWidth()));
+        police.setSpeedMultiplier(gameSpeedMultiplier);
+    }
 
-        if (police.getX() < player.getX() - adjustedDistance) {
-            police.setX(player.getX() - adjustedDistance);
-        }
+    /**
+     * Origem flutuante: longe do início, o float perde precisão e o movimento treme. Quando a
+     * câmera passa de {@link ChaseRules#originShiftFor(float)}, todo o mundo é deslocado para trás
+     * por um múltiplo da largura de um pedaço da cidade, na mesma ordem que a {@link SimulationBatch}.
+     */
+    private void rebaseOriginIfNeeded() {
+        float shift = rules.originShiftFor(worldCameraX);
+        if (shift == 0f) return;
+
+        worldCameraX -= shift;
+        previousWorldCameraX -= shift;
+        player.shiftOrigin(shift);
+        police.shiftOrigin(shift);
+        if (policeCrowd != null) policeCrowd.shiftOrigin(shift);
+        if (itemSpawner != null) itemSpawner.shiftOrigin(shift);
+        if (chunkedCity != null) chunkedCity.shiftOrigin(shift);
+        parallaxBackground.shiftOrigin(shift, getWorldHeight());
+    }
 
-        police.setSpeedMultiplier(gameSpeedMultiplier);
+    /** Recomeça os itens a uma tela do início, para não surgirem em cima do jogador. */
+    private void resetItems() {
+        if (itemSpawner != null) itemSpawner.reset(worldCameraX + getWorldWidth());
+    }
+
+    /** A janela mudou de tamanho: o mundo visível ganha ou perde largura e a interface continua em pixels. */
+    private void updateViewports(int width, int height) {
+        if (width <= 0 || height <= 0) return; // Minimizada; o tamanho anterior continua valendo
+        worldViewport.update(width, height);
+        uiViewport.update(width, height, true);
+    }
+
+    private float getWorldWidth() {
+        return worldViewport.getWorldWidth();
     }
 
-    private void updateBackgroundSize() {
-        scaledBackgroundHeight = Gdx.graphics.getHeight();
-        float aspectRatio = (float) backgroundTexture.getWidth() / backgroundTexture.getHeight();
-        scaledBackgroundWidth = scaledBackgroundHeight * aspectRatio;
+    private float getWorldHeight() {
+        return worldViewport.getWorldHeight();
     }
 
     private void repositionEntities() {
-        if (player != null) player.setY(DEFAULT_ENTITY_Y_POSITION);
-        if (police != null) police.setY(DEFAULT_ENTITY_Y_POSITION);
+        if (player != null) player.setY(rules.getEntityY());
+        if (police != null) police.setY(rules.getEntityY());
     }
 
 
     // === COLISÕES ===
 
     private void checkCollisions() {
-        Rectangle playerBounds = player.getBounds();
-        Rectangle policeBounds = police.getBounds();
+        collisionPass.run(player, police, itemSpawner, collisionListener);
+    }
 
-        if (playerBounds.overlaps(policeBounds)) {
-            isGameOver = true;
+    private void collectItem(WorldItem item) {
+        if (item.getType() == WorldItem.Type.OBSTACLE) {
+            // Quem tocou logo antes de chegar ao obstáculo passa por cima dele
+            if (!rules.vaultsObstacle(player.getTimeSinceTap())) {
+                player.hitObstacle();
+                obstacleHits++;
+                if (recording != null) recording.add(simulationTick, InputRecording.OBSTACLE_HIT);
+            } else {
+                vaultedObstacles++;
+            }
+        } else {
+            scoreManager.addBonus(rules.getPickupScoreBonus());
+            collectedPickups++;
+            if (recording != null) recording.add(simulationTick, InputRecording.PICKUP);
         }
+        itemSpawner.consume(item);
     }
 
 
     // === RENDERIZAÇÃO ===
 
-    private void drawBackground() {
-        float backgroundOffset = -(worldCameraX % scaledBackgroundWidth);
-        if (backgroundOffset > 0) backgroundOffset -= scaledBackgroundWidth;
+    /**
+     * Posiciona a câmera do mundo no ponto interpolado da rolagem e passa a desenhar em
+     * coordenadas do mundo: rolar a tela muda só a matriz de projeção, e as entidades fora de
+     * {@link #visibleWorldArea} nem chegam ao batch.
+     */
+    private void applyWorldCamera() {
+        float worldWidth = getWorldWidth();
+        float worldHeight = getWorldHeight();
+        float cameraX = getRenderCameraX();
+        worldCamera.position.set(cameraX + worldWidth / 2f, worldHeight / 2f, 0f);
+        worldCamera.update();
+        visibleWorldArea.set(cameraX, 0f, worldWidth, worldHeight);
+        spriteBatch.setProjectionMatrix(worldCamera.combined);
+    }
+
+    /** Volta a desenhar em pixels da janela, para a interface e as telas fixas. */
+    private void applyUiCamera() {
+        spriteBatch.setProjectionMatrix(uiViewport.getCamera().combined);
+    }
 
-        spriteBatch.draw(backgroundTexture, backgroundOffset, 0, scaledBackgroundWidth, scaledBackgroundHeight);
-        spriteBatch.draw(backgroundTexture, backgroundOffset + scaledBackgroundWidth, 0, scaledBackgroundWidth, scaledBackgroundHeight);
-        spriteBatch.draw(backgroundTexture, backgroundOffset + scaledBackgroundWidth * 2, 0, scaledBackgroundWidth, scaledBackgroundHeight);
+    /** Fecha o batch e soma as chamadas de desenho, que o próximo {@code begin()} zera. */
+    private void endSpriteBatch() {
+        spriteBatch.end();
+        performanceOverlay.countRenderCalls(spriteBatch);
     }
 
     private void drawGameElements(SpriteBatch spriteBatch) {
         if (!isGameOver && !isVictory) {
-            player.render(spriteBatch);
-            police.render(spriteBatch, -worldCameraX);
+            if (chunkedCity != null) chunkedCity.render(spriteBatch, whitePixelTexture, visibleWorldArea);
+            if (itemSpawner != null) itemSpawner.render(spriteBatch, whitePixelTexture, visibleWorldArea);
+            if (policeCrowd != null) {
+                policeCrowd.render(spriteBatch, visibleWorldArea, interpolationAlpha);
+            }
+            player.render(spriteBatch, visibleWorldArea, interpolationAlpha);
+            police.render(spriteBatch, visibleWorldArea, interpolationAlpha);
         }
     }
 
@@ -376,50 +805,85 @@ public class Main implements ApplicationListener {
         float victoryX = (Gdx.graphics.getWidth() - victoryLayout.width) / 2;
         float victoryY = (Gdx.graphics.getHeight() + victoryLayout.height) / 2;
         victoryFont.draw(spriteBatch, victoryLayout, victoryX, victoryY);
+        drawLeaderboard();
     }
 
     private void drawGameOverScreen() {
         float x = (Gdx.graphics.getWidth() - gameOverLayout.width) / 2;
         float y = (Gdx.graphics.getHeight() + gameOverLayout.height) / 2;
         gameOverFont.draw(spriteBatch, gameOverLayout, x, y);
+        drawLeaderboard();
+    }
+
+    private void drawLeaderboard() {
+        leaderboardView.update(highScoreStore, rules.isEndless());
+        leaderboardView.draw(spriteBatch);
     }
 
     private void drawGameUI() {
-        scoreFont.draw(spriteBatch, "Score: " + scoreManager.getScore(), 10, Gdx.graphics.getHeight() - 10);
-        scoreFont.draw(spriteBatch, "Fase: " + (currentPhase + 1), 10, Gdx.graphics.getHeight() - 50);
+        hud.update(scoreManager.getScore(), currentPhase + 1);
+        hud.draw(spriteBatch);
     }
 
 
     // === PAUSE MENU ===
 
-    private void drawPauseScreen() {
-        spriteBatch.begin();
-        drawBackground();
-        drawGameElements(spriteBatch);
-        drawUI(spriteBatch);
-
-        spriteBatch.setColor(PAUSE_BG_COLOR);
-        spriteBatch.draw(createWhitePixelTexture(), 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
-        spriteBatch.setColor(Color.WHITE);
+    /**
+     * Desenha a cena atual uma única vez num FrameBuffer. Enquanto o jogo estiver pausado só
+     * essa imagem e o menu pré-montado são desenhados, então o custo por quadro não cresce.
+     */
+    private void capturePauseSnapshot() {
+        int width = Gdx.graphics.getBackBufferWidth();
+        int height = Gdx.graphics.getBackBufferHeight();
+        if (width <= 0 || height <= 0) return;
+
+        if (pauseSnapshotBuffer == null || pauseSnapshotBuffer.getWidth() != width || pauseSnapshotBuffer.getHeight() != height) {
+            if (pauseSnapshotBuffer != null) pauseSnapshotBuffer.dispose();
+            pauseSnapshotBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+            pauseSnapshotRegion = new TextureRegion(pauseSnapshotBuffer.getColorBufferTexture());
+            pauseSnapshotRegion.flip(false, true);
+        }
 
-        drawPauseMenuText();
-        spriteBatch.end();
+        pauseSnapshotBuffer.begin();
+        ScreenUtils.clear(BACKGROUND_CLEAR_RED, BACKGROUND_CLEAR_GREEN, BACKGROUND_CLEAR_BLUE, BACKGROUND_CLEAR_ALPHA);
+        drawScene();
+        pauseSnapshotBuffer.end();
     }
 
-    private void drawPauseMenuText() {
+    private void layoutPauseOverlay() {
+        if (pauseTitleCache == null) return;
+
+        pauseTitleCache.clear();
         float pauseX = (Gdx.graphics.getWidth() - pauseLayout.width) / 2;
         float pauseY = Gdx.graphics.getHeight() * 0.7f;
-        pauseFont.draw(spriteBatch, pauseLayout, pauseX, pauseY);
+        pauseTitleCache.addText(pauseLayout, pauseX, pauseY);
 
-        drawCenteredText(resumeLayout, 0.55f);
-        drawCenteredText(restartLayout, 0.45f);
-        drawCenteredText(exitLayout, 0.35f);
+        pauseMenuCache.clear();
+        addCenteredText(pauseMenuCache, resumeLayout, 0.55f);
+        addCenteredText(pauseMenuCache, restartLayout, 0.45f);
+        addCenteredText(pauseMenuCache, exitLayout, 0.35f);
     }
 
-    private void drawCenteredText(GlyphLayout layout, float heightPercent) {
+    private void addCenteredText(BitmapFontCache cache, GlyphLayout layout, float heightPercent) {
         float x = (Gdx.graphics.getWidth() - layout.width) / 2;
         float y = Gdx.graphics.getHeight() * heightPercent;
-        menuFont.draw(spriteBatch, layout, x, y);
+        cache.addText(layout, x, y);
+    }
+
+    private void drawPauseScreen() {
+        applyUiCamera();
+        spriteBatch.begin();
+        if (pauseSnapshotRegion != null) {
+            spriteBatch.draw(pauseSnapshotRegion, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        }
+
+        spriteBatch.setColor(PAUSE_BG_COLOR);
+        spriteBatch.draw(whitePixelTexture, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        spriteBatch.setColor(Color.WHITE);
+
+        pauseTitleCache.draw(spriteBatch);
+        pauseMenuCache.draw(spriteBatch);
+        endSpriteBatch();
     }
 
     private void checkPauseMenuInput() {
@@ -457,18 +921,23 @@ public class Main implements ApplicationListener {
 
     // === CONTROLES DO JOGO ===
 
-    private void restartGame() {
+    void restartGame() {
+        // Depois de fim de partida ou vitória a partida já foi fechada, e o reinício não gera outro evento
+        finishRun(SimulationBatch.RUNNING, GameTelemetry.RUN_RESTART);
         resetGameState();
+        for (int phase = 1; phase < BACKGROUND_PATHS.length; phase++) {
+            backgroundStreamer.release(phase);
+        }
         currentPhase = 0;
-        gameSpeedMultiplier = PHASE_SPEED_MULTIPLIERS[0];
+        gameSpeedMultiplier = rules.phaseSpeedMultiplier(0);
+        if (chunkedCity != null) chunkedCity.reset();
 
-        player = new PlayerCharacter(Gdx.graphics.getWidth() / 2f, PLAYER_INITIAL_Y);
-        police = new Police(player.getX() - POLICE_INITIAL_OFFSET_X, PLAYER_INITIAL_Y);
-        scoreManager = new ScoreManager(SCORE_MANAGER_INITIAL_INTERVAL);
+        initializeEntities();
+        scoreManager.reset();
 
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        backgroundTexture = new Texture(BACKGROUND_PATHS[0]);
-        updateBackgroundSize();
+        showPhaseBackground(0);
+        startRun();
+        textureRegistry.logResident("Restart");
     }
 
     private void exitGame() {
@@ -476,27 +945,132 @@ public class Main implements ApplicationListener {
     }
 
 
+    // === GRAVAÇÃO E REPLAY ===
+
+    private void startRun() {
+        runFinished = false;
+        runIsReplay = false;
+        if (config.getRecordPath() != null) {
+            recording = new InputRecording(config.getSimulationHz(), getWorldWidth(), getWorldHeight(),
+                config.getWorldSeed(), rules.isEndless(), rules.isItemsEnabled());
+        }
+    }
+
+    private void startPlayback(InputRecording replay) {
+        if (replay.getViewportWidth() != getWorldWidth()) {
+            Gdx.app.error("Main", "Replay was recorded at world width " + replay.getViewportWidth() + " but the window shows "
+                + getWorldWidth() + "; the run will not be reproduced exactly");
+        }
+        playback = new InputPlayback(replay);
+        runIsReplay = true;
+    }
+
+    private void finishRun(byte outcome) {
+        finishRun(outcome, GameTelemetry.RUN_ABANDONED);
+    }
+
+    /**
+     * Fecha a partida atual uma única vez: registra nos recordes, salva a gravação e compara o
+     * resultado com o do replay. {@code unfinishedEvent} é o evento de telemetria de uma partida
+     * interrompida ainda em andamento, {@link GameTelemetry#RUN_RESTART} ou {@link GameTelemetry#RUN_ABANDONED}.
+     */
+    private void finishRun(byte outcome, String unfinishedEvent) {
+        if (runFinished) return;
+        runFinished = true;
+        GameTelemetry.runEnded(outcome == SimulationBatch.CAUGHT ? GameTelemetry.RUN_GAME_OVER
+            : outcome == SimulationBatch.ESCAPED ? GameTelemetry.RUN_VICTORY : unfinishedEvent,
+            scoreManager.getScore(), currentPhase, simulationTick);
+
+        // Um replay repete uma partida que já foi registrada
+        if (!runIsReplay && simulationTick > 0) {
+            highScoreStore.recordRun(scoreManager.getScore(), simulationTick, outcome, currentPhase, rules.isEndless());
+        }
+
+        if (playback != null) {
+            InputRecording replay = playback.getRecording();
+            boolean matches = replay.getOutcome() == outcome && replay.getTickCount() == simulationTick
+                && replay.getFinalScore() == scoreManager.getScore();
+            Gdx.app.log("Main", "Replay finished at tick " + simulationTick + ", score " + scoreManager.getScore()
+                + (matches ? ", same as recorded" : ", recorded tick " + replay.getTickCount()
+                + " and score " + replay.getFinalScore()));
+            playback = null;
+        }
+
+        if (recording != null && !recording.isFinished()) {
+            recording.finish(simulationTick, outcome, scoreManager.getScore());
+            saveRecording();
+        }
+    }
+
+    private void saveRecording() {
+        String path = recordedRuns == 0 ? config.getRecordPath() : config.getRecordPath() + "." + recordedRuns;
+        recordedRuns++;
+
+        OutputStream output = null;
+        try {
+            output = Gdx.files.local(path).write(false);
+            recording.write(output);
+            Gdx.app.log("Main", "Saved input recording to " + path + " (" + recording.getEventCount() + " events)");
+        } catch (IOException e) {
+            Gdx.app.error("Main", "Could not save input recording to " + path, e);
+        } finally {
+            StreamUtils.closeQuietly(output);
+        }
+    }
+
+
     // === UTILITÁRIOS ===
 
-    private Texture createWhitePixelTexture() {
+    private Pixmap createWhitePixelPixmap() {
         Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
         pixmap.setColor(Color.WHITE);
         pixmap.fill();
-        Texture texture = new Texture(pixmap);
-        pixmap.dispose();
-        return texture;
+        return pixmap;
     }
 
     private void disposeResources() {
+        if (assetsLoaded) finishRun(SimulationBatch.RUNNING);
+        // Fechar durante a carga descarta o que foi decodificado e ainda não foi para a GPU
+        if (assetPreloader != null) assetPreloader.dispose();
         spriteBatch.dispose();
-        if (startScreenTexture != null) startScreenTexture.dispose();
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (player != null) player.dispose();
-        if (police != null) police.dispose();
+        if (startScreenTexture != null) textureRegistry.release(START_SCREEN_IMAGE_PATH);
+        if (whitePixelTexture != null) textureRegistry.release(WHITE_PIXEL_KEY);
+        if (pauseSnapshotBuffer != null) pauseSnapshotBuffer.dispose();
+        if (parallaxBackground != null) parallaxBackground.dispose();
+        if (backgroundStreamer != null) backgroundStreamer.dispose();
+        if (chunkedCity != null) chunkedCity.dispose();
+        if (animationAtlas != null) animationAtlas.dispose();
+        if (performanceOverlay != null) performanceOverlay.dispose();
+        if (highScoreStore != null) highScoreStore.dispose();
+        textureRegistry.dispose();
+        if (scoreFont == null) return;
         scoreFont.dispose();
         gameOverFont.dispose();
         victoryFont.dispose();
         pauseFont.dispose();
         menuFont.dispose();
     }
+
+    TextureRegistry getTextureRegistry() { return textureRegistry; }
+    BackgroundStreamer getBackgroundStreamer() { return backgroundStreamer; }
+
+    // --- Estado da simulação, lido pelo HeadlessGame ---
+    int getSimulationTick() { return simulationTick; }
+    int getScore() { return scoreManager.getScore(); }
+    int getPhase() { return currentPhase; }
+    float getPlayerX() { return player.getX(); }
+    float getPlayerSpeed() { return player.getSpeed(); }
+    float getPoliceX() { return police.getX(); }
+    float getCameraX() { return worldCameraX; }
+    int getActiveItemCount() { return itemSpawner != null ? itemSpawner.getActiveCount() : 0; }
+    int getObstacleHits() { return obstacleHits; }
+    int getVaultedObstacles() { return vaultedObstacles; }
+    int getCollectedPickups() { return collectedPickups; }
+
+    /** {@link SimulationBatch#RUNNING}, {@link SimulationBatch#CAUGHT} ou {@link SimulationBatch#ESCAPED}. */
+    byte getRunStatus() {
+        if (isGameOver) return SimulationBatch.CAUGHT;
+        if (isVictory) return SimulationBatch.ESCAPED;
+        return SimulationBatch.RUNNING;
+    }
 }
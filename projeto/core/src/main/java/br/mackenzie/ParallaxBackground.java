@@ -0,0 +1,205 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Fundo da fase em camadas, do céu às camadas de textura mais próximas, desenhado num único
+ * quadrilátero que cobre a tela. O shader amostra todas as camadas e as compõe por cima da cor
+ * do céu, então o fundo custa uma chamada de desenho, sem mistura com o que já está na tela e
+ * sem repetir quadriláteros lado a lado.
+ * <p>
+ * Cada camada preenche a altura do mundo, repete na horizontal pelo modo {@code Repeat} da
+ * textura e rola a uma fração da câmera: 1 acompanha o chão, valores menores ficam mais ao fundo.
+ * O deslocamento de cada camada é calculado aqui, a partir da área visível, e enviado como um
+ * uniform; o shader de cada quantidade de camadas é compilado uma vez, quando é usado.
+ */
+public class ParallaxBackground implements Disposable {
+    // --- Constantes ---
+    public static final int MAX_LAYERS = 4;
+
+    private static final String VERTEX_SHADER =
+        "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+        "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" +
+        "varying vec2 v_screen;\n" +
+        "void main() {\n" +
+        "    v_screen = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" +
+        "    gl_Position = " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+        "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n" +
+        "#ifdef GL_FRAGMENT_PRECISION_HIGH\n" +
+        "precision highp float;\n" +
+        "#else\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "#endif\n" +
+        "varying vec2 v_screen;\n" +
+        "uniform vec3 u_sky;\n" +
+        "uniform sampler2D u_layers[LAYER_COUNT];\n" +
+        "uniform float u_offsets[LAYER_COUNT];\n" +
+        "uniform float u_scales[LAYER_COUNT];\n" +
+        "void main() {\n" +
+        "    vec3 color = u_sky;\n" +
+        "    for (int i = 0; i < LAYER_COUNT; i++) {\n" +
+        "        vec4 layer = texture2D(u_layers[i], vec2(u_offsets[i] + v_screen.x * u_scales[i], v_screen.y));\n" +
+        "        color = mix(color, layer.rgb, layer.a);\n" +
+        "    }\n" +
+        "    gl_FragColor = vec4(color, 1.0);\n" +
+        "}\n";
+
+    // Só a cor do céu, para as telas antes de haver camadas
+    private static final String SKY_FRAGMENT_SHADER =
+        "#ifdef GL_ES\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "uniform vec3 u_sky;\n" +
+        "void main() {\n" +
+        "    gl_FragColor = vec4(u_sky, 1.0);\n" +
+        "}\n";
+
+    private static final String[] LAYER_UNIFORMS = new String[MAX_LAYERS];
+    static {
+        for (int i = 0; i < MAX_LAYERS; i++) LAYER_UNIFORMS[i] = "u_layers[" + i + "]";
+    }
+
+    // --- Camadas, do fundo para a frente ---
+    private final Texture[] textures = new Texture[MAX_LAYERS];
+    private final float[] scrollFactors = new float[MAX_LAYERS];
+    /** Quanto a origem do mundo já andou, em larguras da textura de cada camada. */
+    private final float[] originOffsets = new float[MAX_LAYERS];
+    private final float[] offsets = new float[MAX_LAYERS];
+    private final float[] scales = new float[MAX_LAYERS];
+    private int layerCount;
+
+    // --- Desenho ---
+    private final ShaderProgram[] shaders = new ShaderProgram[MAX_LAYERS + 1];
+    private final Mesh quad;
+    private final Color skyColor;
+
+    /** Deve ser criado na thread de renderização. */
+    public ParallaxBackground(Color skyColor) {
+        this.skyColor = new Color(skyColor);
+
+        // Cobre a tela inteira em coordenadas normalizadas; v cresce para baixo, como nas texturas
+        quad = new Mesh(true, 4, 0,
+            new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            VertexAttribute.TexCoords(0));
+        quad.setVertices(new float[] {
+            -1f, -1f, 0f, 1f,
+             1f, -1f, 1f, 1f,
+            -1f,  1f, 0f, 0f,
+             1f,  1f, 1f, 0f
+        });
+    }
+
+    /**
+     * Define a camada {@code index}; as camadas são compostas em ordem crescente de índice.
+     *
+     * @param scrollFactor fração da rolagem da câmera que a camada acompanha
+     */
+    public void setLayer(int index, Texture texture, float scrollFactor) {
+        if (index < 0 || index >= MAX_LAYERS) throw new IllegalArgumentException("layer must be in [0, " + MAX_LAYERS + "): " + index);
+        texture.setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.ClampToEdge);
+        textures[index] = texture;
+        scrollFactors[index] = scrollFactor;
+        layerCount = Math.max(layerCount, index + 1);
+    }
+
+    /** Mantém só as {@code count} primeiras camadas, como ao trocar para uma fase com menos camadas. */
+    public void setLayerCount(int count) {
+        if (count < 0 || count > MAX_LAYERS) throw new IllegalArgumentException("layer count must be in [0, " + MAX_LAYERS + "]: " + count);
+        for (int i = count; i < layerCount; i++) {
+            textures[i] = null;
+        }
+        layerCount = count;
+    }
+
+    /** Acompanha a origem flutuante de {@link Main}, sem o fundo dar um salto. */
+    public void shiftOrigin(float shift, float worldHeight) {
+        for (int i = 0; i < layerCount; i++) {
+            originOffsets[i] = fraction(originOffsets[i] + shift * scrollFactors[i] / layerWidth(i, worldHeight));
+        }
+    }
+
+    /** Volta todas as camadas ao início, como no começo de uma partida. */
+    public void resetOrigin() {
+        for (int i = 0; i < MAX_LAYERS; i++) {
+            originOffsets[i] = 0f;
+        }
+    }
+
+    /**
+     * Desenha o fundo atrás de tudo na área visível do mundo. Deve ser chamado fora de um
+     * {@code SpriteBatch.begin()}/{@code end()}, antes do resto da cena.
+     */
+    public void render(Rectangle visibleArea) {
+        if (visibleArea.height <= 0) return;
+
+        ShaderProgram shader = shaderFor(layerCount);
+        // A camada 0 é ligada por último: o SpriteBatch usa a unidade de textura que ficar ativa
+        for (int i = layerCount - 1; i >= 0; i--) {
+            float width = layerWidth(i, visibleArea.height);
+            // Só a parte fracionária vai ao shader, para as coordenadas de textura ficarem pequenas
+            offsets[i] = fraction(originOffsets[i] + visibleArea.x * scrollFactors[i] / width);
+            scales[i] = visibleArea.width / width;
+            textures[i].bind(i);
+        }
+
+        // O fundo é opaco; o SpriteBatch volta a ligar a mistura no próximo desenho
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        shader.bind();
+        shader.setUniformf("u_sky", skyColor.r, skyColor.g, skyColor.b);
+        if (layerCount > 0) {
+            shader.setUniform1fv("u_offsets", offsets, 0, layerCount);
+            shader.setUniform1fv("u_scales", scales, 0, layerCount);
+        }
+        quad.render(shader, GL20.GL_TRIANGLE_STRIP);
+    }
+
+    private float layerWidth(int index, float worldHeight) {
+        Texture texture = textures[index];
+        return worldHeight * texture.getWidth() / texture.getHeight();
+    }
+
+    private ShaderProgram shaderFor(int count) {
+        if (shaders[count] == null) {
+            String fragmentShader = count == 0 ? SKY_FRAGMENT_SHADER : "#define LAYER_COUNT " + count + "\n" + FRAGMENT_SHADER;
+            ShaderProgram shader = new ShaderProgram(VERTEX_SHADER, fragmentShader);
+            if (!shader.isCompiled()) {
+                String log = shader.getLog();
+                shader.dispose();
+                throw new GdxRuntimeException("Could not compile the parallax shader for " + count + " layers: " + log);
+            }
+            // Cada camada fica sempre na unidade de textura do seu índice
+            shader.bind();
+            for (int i = 0; i < count; i++) {
+                shader.setUniformi(LAYER_UNIFORMS[i], i);
+            }
+            shaders[count] = shader;
+        }
+        return shaders[count];
+    }
+
+    private static float fraction(float value) {
+        return value - (float) Math.floor(value);
+    }
+
+    @Override
+    public void dispose() {
+        quad.dispose();
+        for (ShaderProgram shader : shaders) {
+            if (shader != null) shader.dispose();
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package br.mackenzie;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Painel de desempenho (F3) e gravação de um CSV por quadro (F4). Mostra FPS, tempos de quadro
+ * p50/p99/máximo das últimas {@value #WINDOW_FRAMES} amostras, o tempo de cada subsistema,
+ * as chamadas de desenho do {@link SpriteBatch}, as trocas de textura e o número de coletas
+ * de lixo.
+ * <p>
+ * Depois de criado, o painel não aloca memória: os tempos ficam num histograma de tamanho
+ * fixo, o texto é montado num {@link StringBuilder} reaproveitado e as linhas do CSV são
+ * escritas direto do buffer de caracteres.
+ */
+public class PerformanceOverlay implements Disposable {
+    // --- Subsistemas medidos ---
+    public static final int SECTION_PLAYER = 0;
+    public static final int SECTION_POLICE = 1;
+    public static final int SECTION_CROWD = 2;
+    public static final int SECTION_CAMERA = 3;
+    public static final int SECTION_ITEMS = 4;
+    public static final int SECTION_COLLISIONS = 5;
+    public static final int SECTION_RENDER = 6;
+    private static final String[] SECTION_NAMES = {"player", "police", "crowd", "camera", "items", "collisions", "render"};
+
+    // --- Constantes ---
+    private static final int TOGGLE_OVERLAY_KEY = Input.Keys.F3;
+    private static final int TOGGLE_CAPTURE_KEY = Input.Keys.F4;
+    private static final int WINDOW_FRAMES = 240;
+    private static final long HISTOGRAM_BUCKET_NANOS = 100_000L;
+    private static final int HISTOGRAM_BUCKETS = 1000;
+    private static final int TEXT_REFRESH_FRAMES = 15;
+    private static final float MARGIN = 10f;
+    private static final float PANEL_WIDTH = 330f;
+    private static final float FONT_SCALE = 1.2f;
+    private static final Color PANEL_COLOR = new Color(0f, 0f, 0f, 0.65f);
+    private static final Color TEXT_COLOR = Color.LIME;
+
+    // --- Tempos de quadro ---
+    private final long[] frameTimes = new long[WINDOW_FRAMES];
+    private final int[] histogram = new int[HISTOGRAM_BUCKETS];
+    private int frameTimeIndex;
+    private int frameTimeCount;
+
+    // --- Quadro atual ---
+    private final long[] sectionNanos = new long[SECTION_NAMES.length];
+    private final long[] sectionStarts = new long[SECTION_NAMES.length];
+    private long frameCount;
+    private long lastFrameNanos;
+    private long frameNanos;
+    private int frameRenderCalls;
+    private int renderCalls;
+    private int totalRenderCalls;
+    private int textureBindings;
+    private long gcCount;
+
+    // --- Fontes dos dados ---
+    private final GLProfiler glProfiler;
+    private final GarbageCollectorMXBean[] garbageCollectors;
+
+    // --- Desenho e CSV ---
+    private final Texture whitePixelTexture;
+    private final BitmapFont font;
+    private final BitmapFontCache textCache;
+    private final StringBuilder text = new StringBuilder(512);
+    private final StringBuilder csvLine = new StringBuilder(256);
+    private boolean visible;
+    private Writer csvWriter;
+    private FileHandle csvFile;
+
+    /** @param whitePixelTexture textura 1x1 branca usada no fundo do painel; não é descartada aqui */
+    public PerformanceOverlay(Texture whitePixelTexture) {
+        this.whitePixelTexture = whitePixelTexture;
+        this.glProfiler = new GLProfiler(Gdx.graphics);
+        this.garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+
+        font = new BitmapFont();
+        font.setColor(TEXT_COLOR);
+        font.getData().setScale(FONT_SCALE);
+        textCache = new BitmapFontCache(font);
+    }
+
+    /** Trata F3 e F4; chamado uma vez por quadro. */
+    public void handleInput() {
+        if (Gdx.input.isKeyJustPressed(TOGGLE_OVERLAY_KEY)) {
+            visible = !visible;
+            updateProfilerState();
+        }
+        if (Gdx.input.isKeyJustPressed(TOGGLE_CAPTURE_KEY)) {
+            if (csvWriter == null) startCapture();
+            else stopCapture();
+        }
+    }
+
+    public boolean isActive() {
+        return visible || csvWriter != null;
+    }
+
+    public void begin(int section) {
+        if (isActive()) sectionStarts[section] = System.nanoTime();
+    }
+
+    public void end(int section) {
+        if (isActive()) sectionNanos[section] += System.nanoTime() - sectionStarts[section];
+    }
+
+    /**
+     * Soma as chamadas de desenho de um {@code begin()}/{@code end()} do batch. Deve ser chamado
+     * logo depois de cada {@code end()}: o próximo {@code begin()} zera
+     * {@link SpriteBatch#renderCalls}, e um quadro pode ter vários (cena, tela de pausa, captura).
+     */
+    public void countRenderCalls(SpriteBatch spriteBatch) {
+        frameRenderCalls += spriteBatch.renderCalls;
+    }
+
+    /** Fecha as medições do quadro, depois do último {@link #countRenderCalls(SpriteBatch)} da cena. */
+    public void endFrame(SpriteBatch spriteBatch) {
+        long now = System.nanoTime();
+        frameNanos = lastFrameNanos == 0 ? 0 : now - lastFrameNanos;
+        lastFrameNanos = now;
+        frameCount++;
+
+        int calls = frameRenderCalls;
+        frameRenderCalls = 0;
+        if (!isActive()) return;
+
+        recordFrameTime(frameNanos);
+        renderCalls = calls;
+        totalRenderCalls = spriteBatch.totalRenderCalls;
+        textureBindings = glProfiler.getTextureBindings();
+        glProfiler.reset();
+        gcCount = countGarbageCollections();
+
+        if (csvWriter != null) writeCsvLine();
+        if (visible && frameCount % TEXT_REFRESH_FRAMES == 0) rebuildText();
+
+        for (int i = 0; i < sectionNanos.length; i++) {
+            sectionNanos[i] = 0;
+        }
+    }
+
+    public void render(SpriteBatch spriteBatch) {
+        if (!visible) return;
+
+        float panelHeight = textCache.getLayouts().size > 0 ? textCache.getLayouts().first().height + MARGIN * 2 : 0;
+        float panelY = Gdx.graphics.getHeight() - panelHeight - MARGIN;
+        float panelX = Gdx.graphics.getWidth() - PANEL_WIDTH - MARGIN;
+
+        spriteBatch.begin();
+        spriteBatch.setColor(PANEL_COLOR);
+        spriteBatch.draw(whitePixelTexture, panelX, panelY, PANEL_WIDTH, panelHeight);
+        spriteBatch.setColor(Color.WHITE);
+        textCache.setPosition(panelX + MARGIN, -MARGIN * 2);
+        textCache.draw(spriteBatch);
+        spriteBatch.end();
+    }
+
+
+    // === HISTOGRAMA ===
+
+    private void recordFrameTime(long nanos) {
+        if (frameTimeCount == WINDOW_FRAMES) {
+            histogram[bucketOf(frameTimes[frameTimeIndex])]--;
+        } else {
+            frameTimeCount++;
+        }
+        frameTimes[frameTimeIndex] = nanos;
+        histogram[bucketOf(nanos)]++;
+        frameTimeIndex = (frameTimeIndex + 1) % WINDOW_FRAMES;
+    }
+
+    private static int bucketOf(long nanos) {
+        return (int) Math.min(HISTOGRAM_BUCKETS - 1, nanos / HISTOGRAM_BUCKET_NANOS);
+    }
+
+    /** Limite superior do balde que contém o percentil pedido da janela atual. */
+    private long percentileNanos(float percentile) {
+        if (frameTimeCount == 0) return 0;
+        int target = Math.max(1, (int) Math.ceil(frameTimeCount * percentile));
+        int seen = 0;
+        for (int bucket = 0; bucket < HISTOGRAM_BUCKETS; bucket++) {
+            seen += histogram[bucket];
+            if (seen >= target) return (bucket + 1) * HISTOGRAM_BUCKET_NANOS;
+        }
+        return HISTOGRAM_BUCKETS * HISTOGRAM_BUCKET_NANOS;
+    }
+
+    private long maxFrameNanos() {
+        long max = 0;
+        for (int i = 0; i < frameTimeCount; i++) {
+            max = Math.max(max, frameTimes[i]);
+        }
+        return max;
+    }
+
+
+    // === TEXTO ===
+
+    private void rebuildText() {
+        text.clear();
+        text.append("FPS: ").append(Gdx.graphics.getFramesPerSecond()).append('\n');
+        text.append("Frame p50/p99/max: ");
+        appendMillis(text, percentileNanos(0.5f)).append(" / ");
+        appendMillis(text, percentileNanos(0.99f)).append(" / ");
+        appendMillis(text, maxFrameNanos()).append(" ms\n");
+        for (int i = 0; i < SECTION_NAMES.length; i++) {
+            text.append("  ").append(SECTION_NAMES[i]).append(": ");
+            appendMillis(text, sectionNanos[i]).append(" ms\n");
+        }
+        text.append("Render calls: ").append(renderCalls).append(" (total ").append(totalRenderCalls).append(")\n");
+        text.append("Texture bindings: ").append(textureBindings).append('\n');
+        text.append("GC count: ").append((int) gcCount);
+        if (csvWriter != null) text.append("\nCSV: gravando");
+
+        textCache.setText(text, 0, Gdx.graphics.getHeight());
+    }
+
+    /** Acrescenta o tempo em milissegundos com duas casas, sem criar objetos. */
+    private static StringBuilder appendMillis(StringBuilder builder, long nanos) {
+        int hundredths = (int) (nanos / 10_000L);
+        return builder.append(hundredths / 100).append('.').append(hundredths % 100, 2, '0');
+    }
+
+
+    // === CSV ===
+
+    private void startCapture() {
+        csvFile = Gdx.files.local("perf-" + TimeUtils.millis() + ".csv");
+        csvWriter = new BufferedWriter(csvFile.writer(false, "UTF-8"));
+        csvLine.clear();
+        csvLine.append("frame,frame_ms");
+        for (String name : SECTION_NAMES) {
+            csvLine.append(',').append(name).append("_ms");
+        }
+        csvLine.append(",render_calls,total_render_calls,texture_bindings,gc_count\n");
+        writeCsvBuffer();
+        updateProfilerState();
+        Gdx.app.log("PerformanceOverlay", "Recording frame times to " + csvFile.file().getAbsolutePath());
+    }
+
+    private void writeCsvLine() {
+        csvLine.clear();
+        csvLine.append((int) frameCount).append(',');
+        appendMillis(csvLine, frameNanos);
+        for (long nanos : sectionNanos) {
+            appendMillis(csvLine.append(','), nanos);
+        }
+        csvLine.append(',').append(renderCalls)
+            .append(',').append(totalRenderCalls)
+            .append(',').append(textureBindings)
+            .append(',').append((int) gcCount).append('\n');
+        writeCsvBuffer();
+    }
+
+    private void writeCsvBuffer() {
+        try {
+            csvWriter.write(csvLine.chars, 0, csvLine.length);
+        } catch (IOException e) {
+            Gdx.app.error("PerformanceOverlay", "Could not write " + csvFile.path(), e);
+            stopCapture();
+        }
+    }
+
+    private void stopCapture() {
+        if (csvWriter == null) return;
+        try {
+            csvWriter.close();
+            Gdx.app.log("PerformanceOverlay", "Saved " + csvFile.file().getAbsolutePath());
+        } catch (IOException e) {
+            Gdx.app.error("PerformanceOverlay", "Could not close " + csvFile.path(), e);
+        }
+        csvWriter = null;
+        updateProfilerState();
+    }
+
+
+    // === UTILITÁRIOS ===
+
+    /** O GLProfiler intercepta todas as chamadas GL, então só fica ligado enquanto é usado. */
+    private void updateProfilerState() {
+        if (isActive() && !glProfiler.isEnabled()) {
+            glProfiler.enable();
+            glProfiler.reset();
+        } else if (!isActive() && glProfiler.isEnabled()) {
+            glProfiler.disable();
+        }
+    }
+
+    private long countGarbageCollections() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : garbageCollectors) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+
+    @Override
+    public void dispose() {
+        stopCapture();
+        if (glProfiler.isEnabled()) glProfiler.disable();
+        font.dispose();
+    }
+}
@@ -1,73 +1,82 @@
 package br.mackenzie;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.files.FileHandle;
+
+import br.mackenzie.sim.ChaseRules;
 
 public class PlayerCharacter {
     // --- Constantes do Personagem ---
-    private static final String IDLE_TEXTURE_PATH = "character.png";
-    private static final String RUN_TEXTURE_BASE_PATH = "characterRun/run";
-    private static final int NUM_RUN_FRAMES = 8;
+    private static final int NUM_RUN_FRAMES = AnimationAtlas.NUM_RUN_FRAMES;
     private static final float FRAME_DURATION = 0.1f;
-    private static final float MAX_SPEED = 350f;
-    private static final float ACCELERATION_PER_TAP = 100f;
-    private static final float DECELERATION_RATE = 100f;
     private static final float MOVING_THRESHOLD = 0.1f;
 
-    // TAMANHO PADRÃO FIXO PARA TODOS
-    private static final float STANDARD_WIDTH = 90f;
-    private static final float STANDARD_HEIGHT = 120f;
+    // Velocidade, aceleração e tamanho vêm de ChaseRules, compartilhadas com a simulação headless
+    private final ChaseRules rules;
 
     // --- Recursos Gráficos ---
-    private Texture idleTexture;
-    private Texture[] runTextures;
+    private final TextureRegion idleFrame;
+    private final TextureRegion[] runFrames;
 
     // --- Estado do Personagem ---
     private float worldX;
-    private float screenY;
-    private float currentScreenX;
+    private float previousWorldX;
+    private float y;
     private float currentEffectiveSpeed = 0f;
     private float animationTime;
     private boolean isMoving;
     private float deltaWorldXThisFrame;
+    private float timeSinceTap;
+    private final Rectangle bounds = new Rectangle();
 
-    public PlayerCharacter(float initialWorldX, float initialScreenY) {
-        this.worldX = initialWorldX;
-        this.screenY = initialScreenY;
-        this.currentScreenX = initialWorldX;
-
-        // Carrega as texturas
-        idleTexture = new Texture(IDLE_TEXTURE_PATH);
-        runTextures = new Texture[NUM_RUN_FRAMES];
-        for (int i = 0; i < NUM_RUN_FRAMES; i++) {
-            FileHandle fileHandle = Gdx.files.internal(RUN_TEXTURE_BASE_PATH + (i + 1) + ".png");
-            if (!fileHandle.exists()) {
-                Gdx.app.error("PlayerCharacter", "Run texture not found: " + fileHandle.path());
-                runTextures[i] = idleTexture;
-            } else {
-                runTextures[i] = new Texture(fileHandle);
-            }
-        }
+    public PlayerCharacter(float initialWorldX, float initialY, AnimationAtlas animationAtlas, ChaseRules rules) {
+        this.rules = rules;
+
+        // Os quadros pertencem ao atlas compartilhado; o personagem não carrega texturas
+        idleFrame = animationAtlas.getPlayerIdleFrame();
+        runFrames = animationAtlas.getPlayerRunFrames();
+        reset(initialWorldX, initialY);
+    }
+
+    /** Volta ao estado inicial de uma partida, reaproveitando os quadros já carregados. */
+    public void reset(float initialWorldX, float initialY) {
+        worldX = initialWorldX;
+        previousWorldX = initialWorldX;
+        y = initialY;
+        currentEffectiveSpeed = 0f;
+        deltaWorldXThisFrame = 0f;
+        timeSinceTap = Float.POSITIVE_INFINITY;
         animationTime = 0;
         isMoving = false;
     }
 
-    public void update(float deltaTime) {
-        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-            currentEffectiveSpeed += ACCELERATION_PER_TAP;
-            if (currentEffectiveSpeed > MAX_SPEED) {
-                currentEffectiveSpeed = MAX_SPEED;
-            }
-        }
+    /** Aplica um toque na barra de espaço; a leitura do teclado fica a cargo de quem chama. */
+    public void tap() {
+        currentEffectiveSpeed = rules.playerSpeedAfterTap(currentEffectiveSpeed);
+        timeSinceTap = 0f;
+    }
 
-        currentEffectiveSpeed -= DECELERATION_RATE * deltaTime;
-        if (currentEffectiveSpeed < 0) {
-            currentEffectiveSpeed = 0;
-        }
+    /** Reduz a velocidade ao bater num obstáculo. */
+    public void hitObstacle() {
+        currentEffectiveSpeed = rules.playerSpeedAfterObstacle(currentEffectiveSpeed);
+    }
+
+    /** Guarda a posição do passo anterior, usada para interpolar o desenho. */
+    public void storePreviousPosition() {
+        previousWorldX = worldX;
+    }
+
+    /** Desloca o personagem junto com a origem do mundo, sem afetar a interpolação. */
+    public void shiftOrigin(float shift) {
+        worldX -= shift;
+        previousWorldX -= shift;
+    }
+
+    public void update(float deltaTime) {
+        currentEffectiveSpeed = rules.playerSpeedAfterDeceleration(currentEffectiveSpeed, deltaTime);
+        timeSinceTap += deltaTime;
 
         isMoving = currentEffectiveSpeed > MOVING_THRESHOLD;
 
@@ -75,50 +84,47 @@ public class PlayerCharacter {
         worldX += deltaWorldXThisFrame;
 
         if (isMoving) {
-            animationTime += deltaTime * (currentEffectiveSpeed / (MAX_SPEED / 2f));
+            animationTime += deltaTime * (currentEffectiveSpeed / (rules.getPlayerMaxSpeed() / 2f));
         } else {
             animationTime = 0;
         }
     }
 
-    public void render(SpriteBatch spriteBatch) {
-        Texture currentFrameTexture;
+    /** Desenha em coordenadas do mundo; fora de {@code visibleArea} nada é enviado ao batch. */
+    public void render(SpriteBatch spriteBatch, Rectangle visibleArea, float interpolationAlpha) {
+        float renderX = MathUtils.lerp(previousWorldX, worldX, interpolationAlpha);
+        float width = rules.getPlayerWidth();
+        if (renderX + width < visibleArea.x || renderX > visibleArea.x + visibleArea.width) return;
+
+        TextureRegion currentFrame;
         if (isMoving) {
             int currentFrameIndex = (int)(animationTime / FRAME_DURATION) % NUM_RUN_FRAMES;
-            currentFrameTexture = runTextures[currentFrameIndex];
+            currentFrame = runFrames[currentFrameIndex];
         } else {
-            currentFrameTexture = idleTexture;
+            currentFrame = idleFrame;
         }
 
         // TAMANHO FIXO - IGNORA TAMANHO ORIGINAL DA TEXTURA
-        spriteBatch.draw(currentFrameTexture, currentScreenX, screenY, STANDARD_WIDTH, STANDARD_HEIGHT);
-    }
-
-    public void dispose() {
-        idleTexture.dispose();
-        for (Texture texture : runTextures) {
-            if (texture != null) {
-                texture.dispose();
-            }
-        }
+        spriteBatch.draw(currentFrame, renderX, y, width, rules.getPlayerHeight());
     }
 
     public float getX() { return worldX; }
     public void setX(float worldX) { this.worldX = worldX; }
-    public float getY() { return screenY; }
-    public void setY(float y) { this.screenY = y; }
-    public float getCurrentScreenX() { return currentScreenX; }
-    public void setCurrentScreenX(float currentScreenX) { this.currentScreenX = currentScreenX; }
+    public float getY() { return y; }
+    public void setY(float y) { this.y = y; }
 
     // SEMPRE RETORNA TAMANHO PADRÃO
-    public float getWidth() { return STANDARD_WIDTH; }
-    public float getHeight() { return STANDARD_HEIGHT; }
+    public float getWidth() { return rules.getPlayerWidth(); }
+    public float getHeight() { return rules.getPlayerHeight(); }
 
     public float getDeltaXThisFrame() { return deltaWorldXThisFrame; }
     public float getSpeed() { return currentEffectiveSpeed; }
+    /** Segundos desde o último toque; infinito antes do primeiro toque da partida. */
+    public float getTimeSinceTap() { return timeSinceTap; }
 
     // SEMPRE USA TAMANHO PADRÃO
+    /** Retângulo reutilizado, atualizado a cada chamada; não guarde a referência. */
     public Rectangle getBounds() {
-        return new Rectangle(worldX, screenY, STANDARD_WIDTH, STANDARD_HEIGHT);
+        return bounds.set(worldX, y, rules.getPlayerWidth(), rules.getPlayerHeight());
     }
 }
@@ -1,121 +1,92 @@
 package br.mackenzie;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.files.FileHandle;
+
+import br.mackenzie.sim.ChaseRules;
 
 public class Police {
     // --- Constantes ---
-    private static final String[] PHASE_TEXTURE_PATHS = {
-        "police1Run/run",  // Fase 1
-        "police2Run/run",  // Fase 2
-        "police3Run/run"   // Fase 3
-    };
-    private static final int NUM_RUN_FRAMES = 8;
+    private static final int NUM_RUN_FRAMES = AnimationAtlas.NUM_RUN_FRAMES;
     private static final float FRAME_DURATION = 0.1f;
-    private static final float INITIAL_SPEED = 50f;
-    private static final float MAX_SPEED = 250f;
-    private static final float ACCELERATION_RATE = 40f;
 
-    // MESMO TAMANHO DO PLAYER
-    private static final float STANDARD_WIDTH = 110f;
-    private static final float STANDARD_HEIGHT = 115f;
+    // Velocidade, aceleração e tamanho vêm de ChaseRules, compartilhadas com a simulação headless
+    private final ChaseRules rules;
 
     // --- Recursos Gráficos ---
-    private Texture[][] phaseRunTextures;
-    private Texture[] currentRunTextures;
+    private final AnimationAtlas animationAtlas;
+    private TextureRegion[] currentRunFrames;
 
     // --- Estado ---
     private float x;
+    private float previousX;
     private float y;
     private float currentSpeed;
     private float animationTime;
     private float speedMultiplier = 1.0f;
     private int currentPhase = 0;
+    private final Rectangle bounds = new Rectangle();
 
-    public Police(float initialWorldX, float initialScreenY) {
-        this.x = initialWorldX;
-        this.y = initialScreenY;
-        this.currentSpeed = INITIAL_SPEED;
+    public Police(float initialWorldX, float initialScreenY, AnimationAtlas animationAtlas, ChaseRules rules) {
+        this.rules = rules;
+        this.animationAtlas = animationAtlas;
+        reset(initialWorldX, initialScreenY);
+    }
 
-        loadAllPhaseTextures();
+    /** Volta ao estado inicial de uma partida, reaproveitando os quadros já carregados. */
+    public void reset(float initialWorldX, float initialScreenY) {
+        x = initialWorldX;
+        previousX = initialWorldX;
+        y = initialScreenY;
+        currentSpeed = rules.getPoliceInitialSpeed();
+        speedMultiplier = 1.0f;
         setPhase(0);
         animationTime = 0;
     }
 
-    private void loadAllPhaseTextures() {
-        phaseRunTextures = new Texture[PHASE_TEXTURE_PATHS.length][NUM_RUN_FRAMES];
-
-        for (int phase = 0; phase < PHASE_TEXTURE_PATHS.length; phase++) {
-            for (int frame = 0; frame < NUM_RUN_FRAMES; frame++) {
-                String frameNumber = String.format("%02d", frame + 1);
-                FileHandle fileHandle = Gdx.files.internal(PHASE_TEXTURE_PATHS[phase] + frameNumber + ".png");
-
-                if (fileHandle.exists()) {
-                    phaseRunTextures[phase][frame] = new Texture(fileHandle);
-                } else {
-                    fileHandle = Gdx.files.internal(PHASE_TEXTURE_PATHS[phase] + (frame + 1) + ".png");
-                    if (fileHandle.exists()) {
-                        phaseRunTextures[phase][frame] = new Texture(fileHandle);
-                    } else {
-                        Gdx.app.error("Police", "Texture not found for phase " + phase + ", frame " + (frame + 1) + ": " + fileHandle.path());
-                        phaseRunTextures[phase][frame] = createFallbackTexture();
-                    }
-                }
-            }
+    public void setPhase(int phase) {
+        if (phase >= 0 && phase < animationAtlas.getPolicePhaseCount()) {
+            this.currentPhase = phase;
+            this.currentRunFrames = animationAtlas.getPoliceRunFrames(phase);
         }
     }
 
-    private Texture createFallbackTexture() {
-        com.badlogic.gdx.graphics.Pixmap pixmap = new com.badlogic.gdx.graphics.Pixmap(100, 100, com.badlogic.gdx.graphics.Pixmap.Format.RGBA8888);
-        pixmap.setColor(1, 0, 0, 1);
-        pixmap.fill();
-        Texture texture = new Texture(pixmap);
-        pixmap.dispose();
-        return texture;
+    /** Guarda a posição do passo anterior, usada para interpolar o desenho. */
+    public void storePreviousPosition() {
+        previousX = x;
     }
 
-    public void setPhase(int phase) {
-        if (phase >= 0 && phase < phaseRunTextures.length) {
-            this.currentPhase = phase;
-            this.currentRunTextures = phaseRunTextures[phase];
-        }
+    /** Desloca a polícia junto com a origem do mundo, sem afetar a interpolação. */
+    public void shiftOrigin(float shift) {
+        x -= shift;
+        previousX -= shift;
     }
 
     public void update(float deltaTime) {
-        currentSpeed += ACCELERATION_RATE * deltaTime;
-        if (currentSpeed > MAX_SPEED) {
-            currentSpeed = MAX_SPEED;
-        }
+        currentSpeed = rules.policeSpeedAfterAcceleration(currentSpeed, deltaTime);
         x += (currentSpeed * speedMultiplier) * deltaTime;
         animationTime += deltaTime;
     }
 
-    public void render(SpriteBatch spriteBatch, float cameraOffsetWorldX) {
-        if (currentRunTextures == null || currentRunTextures.length == 0) return;
+    /**
+     * Desenha em coordenadas do mundo. Longe do jogador a polícia costuma ficar fora da tela; fora
+     * de {@code visibleArea} nada é enviado ao batch.
+     */
+    public void render(SpriteBatch spriteBatch, Rectangle visibleArea, float interpolationAlpha) {
+        if (currentRunFrames == null || currentRunFrames.length == 0) return;
+
+        float renderX = MathUtils.lerp(previousX, x, interpolationAlpha);
+        float width = rules.getPoliceWidth();
+        if (renderX + width < visibleArea.x || renderX > visibleArea.x + visibleArea.width) return;
 
         int currentFrameIndex = (int)(animationTime / FRAME_DURATION) % NUM_RUN_FRAMES;
-        Texture currentFrameTexture = currentRunTextures[currentFrameIndex];
+        TextureRegion currentFrame = currentRunFrames[currentFrameIndex];
 
-        if (currentFrameTexture != null) {
+        if (currentFrame != null) {
             // MESMO TAMANHO DO PLAYER
-            spriteBatch.draw(currentFrameTexture, x + cameraOffsetWorldX, y, STANDARD_WIDTH, STANDARD_HEIGHT);
-        }
-    }
-
-    public void dispose() {
-        if (phaseRunTextures != null) {
-            for (int phase = 0; phase < phaseRunTextures.length; phase++) {
-                if (phaseRunTextures[phase] != null) {
-                    for (int frame = 0; frame < phaseRunTextures[phase].length; frame++) {
-                        if (phaseRunTextures[phase][frame] != null) {
-                            phaseRunTextures[phase][frame].dispose();
-                        }
-                    }
-                }
-            }
+            spriteBatch.draw(currentFrame, renderX, y, width, rules.getPoliceHeight());
         }
     }
 
@@ -123,13 +94,14 @@ public class Police {
     public void setX(float x) { this.x = x; }
     public float getY() { return y; }
     public void setY(float y) { this.y = y; }
-    public float getWidth() { return STANDARD_WIDTH; }
-    public float getHeight() { return STANDARD_HEIGHT; }
+    public float getWidth() { return rules.getPoliceWidth(); }
+    public float getHeight() { return rules.getPoliceHeight(); }
     public void setSpeed(float speed) { this.currentSpeed = speed; }
     public void setSpeedMultiplier(float multiplier) { this.speedMultiplier = multiplier; }
     public int getCurrentPhase() { return currentPhase; }
 
+    /** Retângulo reutilizado, atualizado a cada chamada; não guarde a referência. */
     public Rectangle getBounds() {
-        return new Rectangle(x, y, STANDARD_WIDTH, STANDARD_HEIGHT);
+        return bounds.set(x, y, rules.getPoliceWidth(), rules.getPoliceHeight());
     }
 }
@@ -0,0 +1,189 @@
+package br.mackenzie;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+
+import br.mackenzie.sim.ChaseRules;
+
+/**
+ * Multidão de policiais que segue a {@link Police} no modo multidão. O estado de cada
+ * perseguidor fica em arrays primitivos (posição, velocidade, tempo de animação, uniforme), e a
+ * atualização é dividida em blocos processados em paralelo por um {@link ForkJoinPool}: cada
+ * perseguidor só lê e escreve o próprio índice, então os blocos não precisam de sincronização.
+ * <p>
+ * Cada perseguidor acelera como a polícia, mas com um fator de velocidade de no máximo 1 e uma
+ * distância extra atrás dela. Assim nenhum deles passa a frente da {@link Police}, que continua
+ * sendo a única a alcançar o jogador, e as partidas gravadas se repetem com ou sem multidão.
+ * Quem está fora da tela não avança a animação, e os visíveis são desenhados numa única passada
+ * com os quadros do atlas compartilhado.
+ */
+public class PoliceCrowd {
+    // --- Constantes ---
+    private static final int NUM_RUN_FRAMES = AnimationAtlas.NUM_RUN_FRAMES;
+    private static final float FRAME_DURATION = 0.1f;
+    private static final int CHUNK_SIZE = 1024;
+    private static final float MIN_SPEED_FACTOR = 0.85f;
+    private static final float MIN_TRAIL_DISTANCE = 40f;
+    private static final float TRAIL_SPACING = 6f;
+
+    private final ChaseRules rules;
+    private final AnimationAtlas animationAtlas;
+    private final ForkJoinPool pool;
+    private final RandomXS128 random = new RandomXS128();
+    private final long seed;
+    private final int size;
+
+    // --- Estado por perseguidor ---
+    private final float[] x;
+    private final float[] previousX;
+    private final float[] speed;
+    private final float[] speedFactor;
+    private final float[] trailDistance;
+    private final float[] animationTime;
+    private final byte[] uniform;
+
+    // --- Parâmetros do passo atual, lidos pelas tarefas ---
+    private float stepDeltaTime;
+    private float stepSpeedMultiplier;
+    private float stepMinX;
+    private float stepVisibleMinX;
+    private float stepVisibleMaxX;
+
+    public PoliceCrowd(int size, long seed, AnimationAtlas animationAtlas, ChaseRules rules) {
+        this(size, seed, animationAtlas, rules, ForkJoinPool.commonPool());
+    }
+
+    public PoliceCrowd(int size, long seed, AnimationAtlas animationAtlas, ChaseRules rules, ForkJoinPool pool) {
+        if (size < 0) throw new IllegalArgumentException("size must not be negative: " + size);
+        this.size = size;
+        this.seed = seed;
+        this.animationAtlas = animationAtlas;
+        this.rules = rules;
+        this.pool = pool;
+
+        x = new float[size];
+        previousX = new float[size];
+        speed = new float[size];
+        speedFactor = new float[size];
+        trailDistance = new float[size];
+        animationTime = new float[size];
+        uniform = new byte[size];
+    }
+
+    /** Espalha a multidão atrás da polícia; a mesma semente sempre forma a mesma multidão. */
+    public void reset(float policeX) {
+        random.setSeed(seed);
+        int uniformCount = animationAtlas.getPolicePhaseCount();
+        for (int i = 0; i < size; i++) {
+            trailDistance[i] = MIN_TRAIL_DISTANCE + i * TRAIL_SPACING * random.nextFloat();
+            speedFactor[i] = MIN_SPEED_FACTOR + random.nextFloat() * (1f - MIN_SPEED_FACTOR);
+            uniform[i] = (byte) random.nextInt(uniformCount);
+            animationTime[i] = random.nextFloat() * NUM_RUN_FRAMES * FRAME_DURATION;
+            x[i] = policeX - trailDistance[i];
+            previousX[i] = x[i];
+            speed[i] = rules.getPoliceInitialSpeed();
+        }
+    }
+
+    /**
+     * Avança um passo da simulação.
+     *
+     * @param playerX posição do jogador, usada na regra que impede a polícia de ficar longe demais
+     * @param cameraX início da área visível, para decidir quem anima
+     */
+    public void update(float deltaTime, float speedMultiplier, float playerX, int phase,
+                       float cameraX, float viewportWidth) {
+        stepDeltaTime = deltaTime;
+        stepSpeedMultiplier = speedMultiplier;
+        stepMinX = playerX - rules.policeCatchUpDistance(phase, viewportWidth);
+        stepVisibleMinX = cameraX - rules.getPoliceWidth();
+        stepVisibleMaxX = cameraX + viewportWidth;
+
+        if (size <= CHUNK_SIZE) {
+            updateRange(0, size);
+        } else {
+            pool.invoke(new UpdateTask(0, size));
+        }
+    }
+
+    private void updateRange(int from, int to) {
+        final float dt = stepDeltaTime;
+        final float speedMultiplier = stepSpeedMultiplier;
+        final float minX = stepMinX;
+        final float visibleMinX = stepVisibleMinX;
+        final float visibleMaxX = stepVisibleMaxX;
+
+        for (int i = from; i < to; i++) {
+            previousX[i] = x[i];
+            speed[i] = rules.policeSpeedAfterAcceleration(speed[i], dt);
+            float newX = x[i] + speed[i] * speedFactor[i] * speedMultiplier * dt;
+            newX = Math.max(newX, minX - trailDistance[i]);
+            x[i] = newX;
+            // Fora da tela a animação fica parada; ninguém vê o quadro em que ela volta
+            if (newX >= visibleMinX && newX <= visibleMaxX) {
+                animationTime[i] += dt;
+            }
+        }
+    }
+
+    /** Desloca a multidão junto com a origem do mundo, sem afetar a interpolação. */
+    public void shiftOrigin(float shift) {
+        for (int i = 0; i < size; i++) {
+            x[i] -= shift;
+            previousX[i] -= shift;
+        }
+    }
+
+    /**
+     * Desenha, em coordenadas do mundo, os perseguidores que aparecem em {@code visibleArea}. Todos
+     * os quadros vêm do mesmo atlas, então não há troca de textura.
+     */
+    public void render(SpriteBatch spriteBatch, Rectangle visibleArea, float interpolationAlpha) {
+        final float width = rules.getPoliceWidth();
+        final float height = rules.getPoliceHeight();
+        final float y = rules.getEntityY();
+        final float visibleMinX = visibleArea.x - width;
+        final float visibleMaxX = visibleArea.x + visibleArea.width;
+
+        // Do fundo da multidão para a frente, para os mais próximos da polícia ficarem por cima
+        for (int i = size - 1; i >= 0; i--) {
+            float renderX = previousX[i] + (x[i] - previousX[i]) * interpolationAlpha;
+            if (renderX < visibleMinX || renderX > visibleMaxX) continue;
+
+            TextureRegion[] frames = animationAtlas.getPoliceRunFrames(uniform[i]);
+            TextureRegion frame = frames[(int) (animationTime[i] / FRAME_DURATION) % NUM_RUN_FRAMES];
+            spriteBatch.draw(frame, renderX, y, width, height);
+        }
+    }
+
+    public int getSize() { return size; }
+    public float getX(int i) { return x[i]; }
+
+    /** Divide o intervalo ao meio até chegar a blocos de {@value #CHUNK_SIZE} perseguidores. */
+    private final class UpdateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        UpdateTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                updateRange(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new UpdateTask(from, middle), new UpdateTask(middle, to));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package br.mackenzie;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Timer;
+
+/**
+ * Economia de energia: durante a partida o jogo desenha continuamente; nas telas estáticas
+ * (início, pausa, fim de partida) passa a desenhar só quando algo muda, isto é, quando chega
+ * um evento de entrada ou alguém chama {@link #requestRendering()}; com a janela minimizada ou
+ * sem foco não desenha nada.
+ * <p>
+ * Ao sair de cada modo, o tempo passado nele e o uso de CPU da thread de renderização vão para o
+ * log, para comparar o custo de uma tela parada com o da partida.
+ */
+public class PowerMode {
+    public static final int ACTIVE = 0;
+    public static final int STATIC = 1;
+    public static final int HIDDEN = 2;
+    private static final String[] MODE_NAMES = {"active", "static", "hidden"};
+
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final boolean cpuTimeSupported = threadBean.isCurrentThreadCpuTimeSupported();
+    private final Timer.Task renderTask = new Timer.Task() {
+        @Override
+        public void run() {
+            Gdx.graphics.requestRendering();
+        }
+    };
+
+    private int mode = ACTIVE;
+    private boolean hidden;
+    private boolean discardNextFrameTime;
+    private long modeStartNanos;
+    private long modeStartCpuNanos;
+    private int modeFrames;
+
+    public PowerMode() {
+        startMeasuring();
+    }
+
+    /**
+     * Escolhe o modo do próximo quadro; chamado no fim de cada {@code render()}.
+     *
+     * @param animating verdadeiro quando a tela muda sozinha, como durante a partida
+     */
+    public void update(boolean animating) {
+        modeFrames++;
+        if (!hidden) setMode(animating ? ACTIVE : STATIC);
+    }
+
+    /** A janela foi minimizada ou perdeu o foco. */
+    public void onHidden() {
+        hidden = true;
+        setMode(HIDDEN);
+    }
+
+    /** A janela voltou a aparecer; o próximo quadro decide entre contínuo e estático. */
+    public void onVisible() {
+        hidden = false;
+        discardNextFrameTime = true;
+        setMode(ACTIVE);
+    }
+
+    /**
+     * Tempo do quadro a usar na simulação. Depois de um período sem desenhar, o primeiro quadro
+     * mediria todo o tempo parado; ele é descartado para a partida não dar um salto.
+     */
+    public float frameTime(float deltaTime) {
+        // O modo ainda é o do fim do quadro anterior: se ele não era contínuo, o tempo medido inclui a espera
+        if (mode == ACTIVE && !discardNextFrameTime) return deltaTime;
+        discardNextFrameTime = false;
+        return 0f;
+    }
+
+    /** Pede um quadro numa tela estática, por exemplo quando um dado carregado em segundo plano chega. */
+    public void requestRendering() {
+        Gdx.graphics.requestRendering();
+    }
+
+    /** Pede um quadro daqui a {@code delaySeconds}, para telas estáticas que mudam com o tempo. */
+    public void requestRenderingIn(float delaySeconds) {
+        if (!renderTask.isScheduled()) Timer.schedule(renderTask, Math.max(0f, delaySeconds));
+    }
+
+    public int getMode() { return mode; }
+
+    private void setMode(int newMode) {
+        if (newMode == mode) return;
+        logModeUsage();
+        mode = newMode;
+        Gdx.graphics.setContinuousRendering(newMode == ACTIVE);
+        startMeasuring();
+    }
+
+    private void startMeasuring() {
+        modeStartNanos = System.nanoTime();
+        modeStartCpuNanos = cpuTimeSupported ? threadBean.getCurrentThreadCpuTime() : 0;
+        modeFrames = 0;
+    }
+
+    private void logModeUsage() {
+        long wallNanos = System.nanoTime() - modeStartNanos;
+        if (wallNanos <= 0) return;
+
+        String cpu = "n/a";
+        if (cpuTimeSupported) {
+            long cpuNanos = threadBean.getCurrentThreadCpuTime() - modeStartCpuNanos;
+            cpu = (Math.round(cpuNanos * 1000.0 / wallNanos) / 10f) + "%";
+        }
+        Gdx.app.log("PowerMode", MODE_NAMES[mode] + " for " + (wallNanos / 1000000L) + " ms, " + modeFrames
+            + " frames, render thread CPU " + cpu);
+    }
+}
@@ -13,6 +13,10 @@ public class ScoreManager {
         score += scorePerSecond * deltaTime;
     }
 
+    public void addBonus(int points) {
+        score += points;
+    }
+
     public int getScore() {
         return (int) score; 
     }
@@ -0,0 +1,109 @@
+package br.mackenzie;
+
+import java.lang.management.ManagementFactory;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Tempos da partida do jogo, do início da JVM ao primeiro quadro, para acompanhar regressões de
+ * uma versão para outra. Cada fase mede o tempo desde a anterior. Vão para o log duas linhas, uma
+ * ao fim do primeiro quadro e outra quando os recursos carregados durante a tela inicial ficam
+ * prontos, cada uma com as fases desde a linha anterior:
+ * <pre>
+ * [Startup] 1.0.0: first frame jvm=85 ms window=240 ms initializeGraphics=30 ms firstFrame=12 ms total=370 ms (cds=using)
+ * [Startup] 1.0.0: ready assets=410 ms initializeEntities=1 ms initializeUI=25 ms total=810 ms (cds=using)
+ * </pre>
+ * {@code jvm} é o tempo entre o início do processo e o {@code main}; {@code total} vai do início
+ * do processo até o marco da linha. Quando o launcher reinicia a JVM, a linha do primeiro quadro
+ * começa com {@code parentJvm}, o tempo de vida da JVM anterior até criar esta, que também entra
+ * no {@code total}. Só a thread de renderização marca fases.
+ */
+public final class StartupTimeline {
+    /** Propriedade com que a JVM reiniciada recebe o tempo de vida da anterior, em milissegundos. */
+    public static final String PARENT_JVM_MILLIS_PROPERTY = "startup.parentJvmMillis";
+    private static final int MAX_PHASES = 16;
+
+    private static final String[] phaseNames = new String[MAX_PHASES];
+    private static final long[] phaseNanos = new long[MAX_PHASES];
+    private static int phaseCount;
+    private static long jvmBootMillis = -1;
+    private static long parentJvmMillis = -1;
+    private static long mainNanos = System.nanoTime();
+    private static long lastMarkNanos = mainNanos;
+    private static String note = "";
+    private static boolean firstFrameReported;
+    private static boolean readyReported;
+    private static boolean readyPending;
+
+    private StartupTimeline() {}
+
+    /** Marca a entrada no {@code main}; deve ser a primeira coisa que o launcher faz. */
+    public static void markMain() {
+        mainNanos = System.nanoTime();
+        lastMarkNanos = mainNanos;
+        jvmBootMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        try {
+            parentJvmMillis = Long.parseLong(System.getProperty(PARENT_JVM_MILLIS_PROPERTY, "-1"));
+        } catch (NumberFormatException e) {
+            parentJvmMillis = -1;
+        }
+    }
+
+    /** Informação extra para o relatório, como o estado do class-data sharing. */
+    public static void setNote(String note) {
+        StartupTimeline.note = note;
+    }
+
+    /** Encerra a fase {@code name}, que começou na marca anterior. */
+    public static void phase(String name) {
+        if (readyReported) return;
+        long now = System.nanoTime();
+        if (phaseCount < MAX_PHASES) {
+            phaseNames[phaseCount] = name;
+            phaseNanos[phaseCount] = now - lastMarkNanos;
+            phaseCount++;
+        }
+        lastMarkNanos = now;
+    }
+
+    /** Encerra a fase do primeiro quadro e escreve a primeira linha; as chamadas seguintes não fazem nada. */
+    public static void firstFrame() {
+        if (firstFrameReported) return;
+        phase("firstFrame");
+        firstFrameReported = true;
+        report("first frame", true);
+        if (readyPending) ready();
+    }
+
+    /** Marca o jogo pronto para começar a partida e escreve a segunda linha, depois da do primeiro quadro. */
+    public static void ready() {
+        if (readyReported) return;
+        if (!firstFrameReported) {
+            readyPending = true;
+            return;
+        }
+        readyReported = true;
+        report("ready", false);
+    }
+
+    private static void report(String milestone, boolean includeJvm) {
+        StringBuilder line = new StringBuilder(milestone);
+        if (includeJvm && parentJvmMillis >= 0) line.append(" parentJvm=").append(parentJvmMillis).append(" ms");
+        if (includeJvm && jvmBootMillis >= 0) line.append(" jvm=").append(jvmBootMillis).append(" ms");
+        for (int i = 0; i < phaseCount; i++) {
+            line.append(' ').append(phaseNames[i]).append('=').append(phaseNanos[i] / 1000000L).append(" ms");
+        }
+        long total = Math.max(0, parentJvmMillis) + Math.max(0, jvmBootMillis) + getMillisSinceMain();
+        line.append(" total=").append(total).append(" ms");
+        if (!note.isEmpty()) line.append(" (").append(note).append(')');
+        phaseCount = 0;
+
+        String version = StartupTimeline.class.getPackage().getImplementationVersion();
+        Gdx.app.log("Startup", (version != null ? version + ": " : "") + line);
+    }
+
+    /** Tempo desde o {@code main}, ou desde que esta classe foi carregada se o launcher não o marcou. */
+    public static long getMillisSinceMain() {
+        return (System.nanoTime() - mainNanos) / 1000000L;
+    }
+}
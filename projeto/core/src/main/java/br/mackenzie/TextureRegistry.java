@@ -0,0 +1,118 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Texturas compartilhadas com contagem de referências. Quem precisa de uma textura chama
+ * {@link #acquire(String)} e, ao terminar, {@link #release(String)}; a textura só é carregada
+ * na primeira aquisição e só é descartada quando a última referência é devolvida. Assim
+ * recriar o jogo ou reiniciar a partida reaproveita o que já está na GPU.
+ */
+public class TextureRegistry implements Disposable {
+    /** Gera a imagem de uma textura que não vem de um arquivo. */
+    public interface PixmapFactory {
+        Pixmap create();
+    }
+
+    private final ObjectMap<String, Entry> entries = new ObjectMap<>();
+
+    /** Textura do arquivo interno {@code path}, carregada na primeira aquisição. */
+    public Texture acquire(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            GameTelemetry.assetLoadBegin();
+            entry = new Entry(new Texture(Gdx.files.internal(path)));
+            entries.put(path, entry);
+            GameTelemetry.assetLoadEnd(path, GameTelemetry.STAGE_LOAD);
+        }
+        entry.references++;
+        return entry.texture;
+    }
+
+    /**
+     * Como {@link #acquire(String)}, mas usa a imagem já decodificada em outra thread em vez de
+     * ler o arquivo. A imagem é sempre descartada, mesmo se a textura já estava carregada.
+     */
+    public Texture acquire(String path, Pixmap decoded) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            GameTelemetry.assetLoadBegin();
+            entry = new Entry(new Texture(decoded));
+            entries.put(path, entry);
+            GameTelemetry.assetLoadEnd(path, GameTelemetry.STAGE_UPLOAD);
+        }
+        decoded.dispose();
+        entry.references++;
+        return entry.texture;
+    }
+
+    /** Textura gerada por {@code factory} e identificada por {@code key}; o Pixmap é descartado após o envio. */
+    public Texture acquire(String key, PixmapFactory factory) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            GameTelemetry.assetLoadBegin();
+            Pixmap pixmap = factory.create();
+            entry = new Entry(new Texture(pixmap));
+            pixmap.dispose();
+            entries.put(key, entry);
+            GameTelemetry.assetLoadEnd(key, GameTelemetry.STAGE_LOAD);
+        }
+        entry.references++;
+        return entry.texture;
+    }
+
+    /** Devolve uma referência; a textura é descartada quando não resta nenhuma. */
+    public void release(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) throw new GdxRuntimeException("Texture not acquired: " + key);
+        if (--entry.references == 0) {
+            entry.texture.dispose();
+            entries.remove(key);
+        }
+    }
+
+    public int getResidentCount() {
+        return entries.size;
+    }
+
+    /** Estimativa da memória de vídeo ocupada, contando 4 bytes por texel. */
+    public long getResidentBytes() {
+        long bytes = 0;
+        for (Entry entry : entries.values()) {
+            bytes += (long) entry.texture.getWidth() * entry.texture.getHeight() * 4;
+        }
+        return bytes;
+    }
+
+    public void logResident(String tag) {
+        Gdx.app.log("TextureRegistry", tag + ": " + getResidentCount() + " textures, "
+            + (getResidentBytes() / 1024) + " KiB resident");
+    }
+
+    /** Descarta tudo o que restou; referências não devolvidas são registradas no log. */
+    @Override
+    public void dispose() {
+        for (ObjectMap.Entry<String, Entry> e : entries) {
+            if (e.value.references > 0) {
+                Gdx.app.error("TextureRegistry", "Texture still referenced on dispose: " + e.key
+                    + " (" + e.value.references + ")");
+            }
+            e.value.texture.dispose();
+        }
+        entries.clear();
+    }
+
+    private static final class Entry {
+        final Texture texture;
+        int references;
+
+        Entry(Texture texture) {
+            this.texture = texture;
+        }
+    }
+}
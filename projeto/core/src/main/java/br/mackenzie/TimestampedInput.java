@@ -0,0 +1,31 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
+
+/**
+ * Recebe os eventos de tecla do libGDX e os guarda numa {@link InputEventQueue} com o instante
+ * em que o backend os registrou ({@link com.badlogic.gdx.Input#getCurrentEventTime()}). No LWJGL3
+ * esse é o instante da leitura dos eventos do sistema, no começo do quadro, e não o do
+ * pressionamento: toques de um mesmo quadro chegam com instantes praticamente iguais. Não consome
+ * os eventos, então a leitura por {@code isKeyJustPressed} continua funcionando para menus e atalhos.
+ */
+public class TimestampedInput extends InputAdapter {
+    private final InputEventQueue queue;
+
+    public TimestampedInput(InputEventQueue queue) {
+        this.queue = queue;
+    }
+
+    @Override
+    public boolean keyDown(int keycode) {
+        queue.offer(InputEventQueue.KEY_DOWN, keycode, Gdx.input.getCurrentEventTime());
+        return false;
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        queue.offer(InputEventQueue.KEY_UP, keycode, Gdx.input.getCurrentEventTime());
+        return false;
+    }
+}
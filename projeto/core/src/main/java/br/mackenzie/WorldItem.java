@@ -0,0 +1,30 @@
+package br.mackenzie;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Pool;
+
+/** Obstáculo ou bônus posicionado no mundo pelo {@link ItemSpawner}; reaproveitado via {@link Pool}. */
+public class WorldItem implements Pool.Poolable {
+    public enum Type { OBSTACLE, PICKUP }
+
+    private Type type = Type.OBSTACLE;
+    private final Rectangle bounds = new Rectangle();
+
+    void set(Type type, float worldX, float y, float width, float height) {
+        this.type = type;
+        bounds.set(worldX, y, width, height);
+    }
+
+    @Override
+    public void reset() {
+        type = Type.OBSTACLE;
+        bounds.set(0, 0, 0, 0);
+    }
+
+    public Type getType() { return type; }
+    public float getX() { return bounds.x; }
+    public float getRight() { return bounds.x + bounds.width; }
+
+    /** Retângulo do próprio item em coordenadas de mundo; não é copiado. */
+    public Rectangle getBounds() { return bounds; }
+}
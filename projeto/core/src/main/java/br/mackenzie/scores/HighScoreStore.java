@@ -0,0 +1,241 @@
+package br.mackenzie.scores;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+import br.mackenzie.sim.SimulationBatch;
+
+/**
+ * Recordes e histórico de partidas de um perfil. Cada partida vai para o {@link RunLog}
+ * ({@code <perfil>.runs}); as maiores pontuações ficam num {@link TopScores} por modo, normal e
+ * sem fim, que não se comparam, salvos junto com o número de partidas que já cobrem
+ * ({@code <perfil>.top}). Ao abrir, só as partidas
+ * gravadas depois do último índice salvo são lidas, em lotes, publicando o índice parcial a
+ * cada lote.
+ * <p>
+ * Todo acesso a arquivo roda numa única thread de trabalho. A thread de renderização só lê o
+ * último {@link TopScores} publicado, então desenhar o placar nunca espera o disco. Partidas
+ * abandonadas entram no histórico, mas não no placar.
+ */
+public class HighScoreStore implements Disposable {
+    public static final int DEFAULT_CAPACITY = 10;
+
+    private static final int INDEX_MAGIC = 0x544F5053; // "TOPS"
+    private static final int INDEX_VERSION = 2;
+    private static final int NORMAL = 0;
+    private static final int ENDLESS = 1;
+    private static final int MODE_COUNT = 2;
+    private static final int SCAN_BATCH = 65536;
+
+    private final String profile;
+    private final File logFile;
+    private final File indexFile;
+    private final int capacity;
+    private final AsyncExecutor executor;
+
+    // --- Usados só na thread de trabalho ---
+    private RunLog log;
+    private final TopScores[] indexes = new TopScores[MODE_COUNT];
+    private long indexedCount;
+
+    // --- Publicados para a thread de renderização; um por modo ---
+    private volatile TopScores[] published;
+    private volatile long runCount;
+    private volatile boolean loaded;
+    private volatile Runnable changeListener;
+
+    /** Abre o histórico do perfil em segundo plano; o construtor não acessa o disco. */
+    public HighScoreStore(File directory, String profile) {
+        this(directory, profile, DEFAULT_CAPACITY);
+    }
+
+    public HighScoreStore(File directory, String profile, int capacity) {
+        if (!isValidProfile(profile)) throw new IllegalArgumentException("Invalid profile name: " + profile);
+        this.profile = profile;
+        this.logFile = new File(directory, profile + ".runs");
+        this.indexFile = new File(directory, profile + ".top");
+        this.capacity = capacity;
+        this.published = new TopScores[] {new TopScores(capacity), new TopScores(capacity)};
+        this.executor = new AsyncExecutor(1, "HighScoreStore");
+        executor.submit(() -> {
+            open();
+            return null;
+        });
+    }
+
+    /** Nomes de perfil viram nomes de arquivo: só letras, números, '-' e '_'. */
+    public static boolean isValidProfile(String profile) {
+        return profile != null && profile.matches("[A-Za-z0-9_-]{1,64}");
+    }
+
+    /** Acrescenta uma partida ao histórico; não bloqueia quem chama. */
+    public void recordRun(final int score, final int ticks, final byte outcome, final int phase, final boolean endless) {
+        final long timestamp = System.currentTimeMillis();
+        executor.submit(() -> {
+            append(timestamp, score, ticks, outcome, phase, endless ? RunLog.FLAG_ENDLESS : 0);
+            return null;
+        });
+    }
+
+    /** Último placar publicado do modo; vazio enquanto o histórico ainda está sendo aberto. */
+    public TopScores getTopScores(boolean endless) { return published[endless ? ENDLESS : NORMAL]; }
+
+    public long getRunCount() { return runCount; }
+
+    /** Verdadeiro depois que todas as partidas gravadas até a abertura foram indexadas. */
+    public boolean isLoaded() { return loaded; }
+
+    public String getProfile() { return profile; }
+
+    /** Chamado na thread de trabalho sempre que um novo placar é publicado. */
+    public void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
+    }
+
+
+    // === THREAD DE TRABALHO ===
+
+    private void open() {
+        long start = System.nanoTime();
+        try {
+            log = new RunLog(logFile);
+        } catch (IOException e) {
+            Gdx.app.error("HighScoreStore", "Could not open " + logFile + "; runs will not be saved", e);
+            loaded = true;
+            notifyChange();
+            return;
+        }
+
+        readIndex();
+        long recordCount = log.getRecordCount();
+        long firstUnindexed = indexedCount;
+        try {
+            while (indexedCount < recordCount) {
+                long batchEnd = Math.min(recordCount, indexedCount + SCAN_BATCH);
+                for (long i = indexedCount; i < batchEnd; i++) {
+                    offer(i);
+                }
+                indexedCount = batchEnd;
+                publish();
+            }
+        } catch (IOException e) {
+            Gdx.app.error("HighScoreStore", "Could not read " + logFile, e);
+        }
+        loaded = true;
+        publish();
+        if (indexedCount > firstUnindexed) writeIndex();
+
+        Gdx.app.log("HighScoreStore", "Profile " + profile + ": " + recordCount + " runs, indexed "
+            + (indexedCount - firstUnindexed) + " in " + ((System.nanoTime() - start) / 1000000f) + " ms");
+    }
+
+    private void append(long timestamp, int score, int ticks, byte outcome, int phase, int flags) {
+        if (log == null) return;
+        try {
+            log.append(timestamp, score, ticks, outcome, phase, flags);
+            offer(log.getRecordCount() - 1);
+            indexedCount = log.getRecordCount();
+            publish();
+        } catch (IOException e) {
+            Gdx.app.error("HighScoreStore", "Could not append to " + logFile, e);
+        }
+    }
+
+    private void offer(long runIndex) throws IOException {
+        if (log.getOutcome(runIndex) == SimulationBatch.RUNNING) return;
+        int mode = (log.getFlags(runIndex) & RunLog.FLAG_ENDLESS) != 0 ? ENDLESS : NORMAL;
+        indexes[mode].offer(log.getScore(runIndex), log.getPhase(runIndex), log.getTimestamp(runIndex), runIndex);
+    }
+
+    private void publish() {
+        TopScores[] copies = new TopScores[MODE_COUNT];
+        for (int mode = 0; mode < MODE_COUNT; mode++) {
+            copies[mode] = indexes[mode].copy();
+        }
+        published = copies;
+        runCount = indexedCount;
+        notifyChange();
+    }
+
+    private void notifyChange() {
+        Runnable listener = changeListener;
+        if (listener != null) listener.run();
+    }
+
+    /**
+     * Carrega o índice salvo, ou começa do zero se ele não existe ou não combina com o histórico.
+     * Um índice da versão 1, com os dois modos misturados, é refeito a partir do histórico.
+     */
+    private void readIndex() {
+        for (int mode = 0; mode < MODE_COUNT; mode++) {
+            indexes[mode] = new TopScores(capacity);
+        }
+        indexedCount = 0;
+        if (!indexFile.exists()) return;
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (input.readInt() != INDEX_MAGIC || input.readInt() != INDEX_VERSION) return;
+            long coveredCount = input.readLong();
+            TopScores normal = TopScores.read(input, capacity);
+            TopScores endless = normal != null ? TopScores.read(input, capacity) : null;
+            if (endless != null && coveredCount >= 0 && coveredCount <= log.getRecordCount()) {
+                indexes[NORMAL] = normal;
+                indexes[ENDLESS] = endless;
+                indexedCount = coveredCount;
+            }
+        } catch (IOException e) {
+            Gdx.app.error("HighScoreStore", "Ignoring unreadable " + indexFile, e);
+        }
+    }
+
+    private void writeIndex() {
+        File temporary = new File(indexFile.getPath() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+            output.writeInt(INDEX_MAGIC);
+            output.writeInt(INDEX_VERSION);
+            output.writeLong(indexedCount);
+            for (TopScores index : indexes) {
+                index.write(output);
+            }
+        } catch (IOException e) {
+            Gdx.app.error("HighScoreStore", "Could not write " + indexFile, e);
+            return;
+        }
+        // Um índice antigo é só mais lento, nunca errado; a troca evita deixar um arquivo pela metade
+        if ((indexFile.exists() && !indexFile.delete()) || !temporary.renameTo(indexFile)) {
+            Gdx.app.error("HighScoreStore", "Could not replace " + indexFile);
+        }
+    }
+
+    private void close() {
+        if (log == null) return;
+        writeIndex();
+        log.force();
+        try {
+            log.close();
+        } catch (IOException e) {
+            Gdx.app.error("HighScoreStore", "Could not close " + logFile, e);
+        }
+        log = null;
+    }
+
+    /** Espera as gravações pendentes, salva o índice e fecha o histórico. */
+    @Override
+    public void dispose() {
+        executor.submit(() -> {
+            close();
+            return null;
+        });
+        executor.dispose();
+    }
+}
@@ -0,0 +1,135 @@
+package br.mackenzie.scores;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Histórico de partidas num arquivo binário só de acréscimo, acessado por memória mapeada. O
+ * arquivo cresce em segmentos de {@value #SEGMENT_RECORDS} registros de {@value #RECORD_SIZE}
+ * bytes; acrescentar uma partida é escrever no mapeamento, sem chamada ao sistema.
+ * <p>
+ * Formato: cabeçalho (magic, versão, número de registros confirmados) seguido dos registros
+ * {@code (instante, pontuação, passos, resultado, fase, flags)}. O contador do cabeçalho só é
+ * atualizado depois do registro inteiro, então um registro pela metade nunca é lido.
+ * <p>
+ * Não é seguro para várias threads; {@link HighScoreStore} usa uma única thread de trabalho.
+ */
+public class RunLog {
+    public static final int FLAG_ENDLESS = 1;
+
+    static final int RECORD_SIZE = 24;
+    private static final int MAGIC = 0x52554E53; // "RUNS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int COUNT_OFFSET = 8;
+    private static final int SEGMENT_RECORDS = 65536;
+    private static final long SEGMENT_BYTES = (long) SEGMENT_RECORDS * RECORD_SIZE;
+
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long recordCount;
+
+    public RunLog(File file) throws IOException {
+        this.file = file;
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+
+        randomAccessFile = new RandomAccessFile(file, "rw");
+        channel = randomAccessFile.getChannel();
+        boolean created = channel.size() == 0;
+        header = map(0, HEADER_SIZE);
+        if (created) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putLong(COUNT_OFFSET, 0);
+        } else if (header.getInt(0) != MAGIC) {
+            close();
+            throw new IOException("Not a run log: " + file);
+        } else if (header.getInt(4) != VERSION) {
+            int version = header.getInt(4);
+            close();
+            throw new IOException("Unsupported run log version " + version + ": " + file);
+        }
+
+        recordCount = header.getLong(COUNT_OFFSET);
+        long capacity = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+        if (recordCount < 0 || recordCount > capacity) {
+            close();
+            throw new IOException("Corrupt run log header (" + recordCount + " records): " + file);
+        }
+    }
+
+    public void append(long timestampMillis, int score, int ticks, byte outcome, int phase, int flags) throws IOException {
+        MappedByteBuffer segment = segmentFor(recordCount);
+        int offset = offsetInSegment(recordCount);
+        segment.putLong(offset, timestampMillis);
+        segment.putInt(offset + 8, score);
+        segment.putInt(offset + 12, ticks);
+        segment.put(offset + 16, outcome);
+        segment.put(offset + 17, (byte) phase);
+        segment.put(offset + 18, (byte) flags);
+        recordCount++;
+        header.putLong(COUNT_OFFSET, recordCount);
+    }
+
+    public long getRecordCount() { return recordCount; }
+
+    public long getTimestamp(long index) throws IOException { return segmentFor(index).getLong(offsetInSegment(index)); }
+    public int getScore(long index) throws IOException { return segmentFor(index).getInt(offsetInSegment(index) + 8); }
+    public int getTicks(long index) throws IOException { return segmentFor(index).getInt(offsetInSegment(index) + 12); }
+    public byte getOutcome(long index) throws IOException { return segmentFor(index).get(offsetInSegment(index) + 16); }
+    public int getPhase(long index) throws IOException { return segmentFor(index).get(offsetInSegment(index) + 17); }
+    public int getFlags(long index) throws IOException { return segmentFor(index).get(offsetInSegment(index) + 18); }
+
+    /** Pede ao sistema que grave as páginas alteradas no disco. */
+    public void force() {
+        header.force();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Fecha o arquivo. Os mapeamentos só são liberados quando o coletor de lixo recolher os
+     * buffers; até lá os dados continuam acessíveis ao sistema.
+     */
+    public void close() throws IOException {
+        segments.clear();
+        randomAccessFile.close();
+    }
+
+    public File getFile() { return file; }
+
+
+    // === SEGMENTOS ===
+
+    private MappedByteBuffer segmentFor(long index) throws IOException {
+        int segmentIndex = (int) (index / SEGMENT_RECORDS);
+        while (segments.size() <= segmentIndex) {
+            // Mapear além do fim aumenta o arquivo; cada segmento é mapeado uma única vez
+            segments.add(map(HEADER_SIZE + segments.size() * SEGMENT_BYTES, SEGMENT_BYTES));
+        }
+        return segments.get(segmentIndex);
+    }
+
+    private static int offsetInSegment(long index) {
+        return (int) (index % SEGMENT_RECORDS) * RECORD_SIZE;
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,100 @@
+package br.mackenzie.scores;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * As {@code capacity} maiores pontuações, em ordem decrescente; em caso de empate a partida mais
+ * antiga fica na frente. Inserir custa O(capacity), então o índice pode ser refeito a partir de
+ * milhões de partidas sem ordenar o histórico.
+ * <p>
+ * {@link HighScoreStore} publica cópias que ninguém mais altera; essas cópias podem ser lidas
+ * de qualquer thread.
+ */
+public class TopScores {
+    private final int[] scores;
+    private final int[] phases;
+    private final long[] timestamps;
+    private final long[] runIndices;
+    private int size;
+
+    public TopScores(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        scores = new int[capacity];
+        phases = new int[capacity];
+        timestamps = new long[capacity];
+        runIndices = new long[capacity];
+    }
+
+    /** Considera uma partida; devolve verdadeiro se ela entrou no índice. */
+    public boolean offer(int score, int phase, long timestampMillis, long runIndex) {
+        if (size == scores.length && score <= scores[size - 1]) return false;
+
+        int position = size == scores.length ? size - 1 : size++;
+        while (position > 0 && scores[position - 1] < score) {
+            scores[position] = scores[position - 1];
+            phases[position] = phases[position - 1];
+            timestamps[position] = timestamps[position - 1];
+            runIndices[position] = runIndices[position - 1];
+            position--;
+        }
+        scores[position] = score;
+        phases[position] = phase;
+        timestamps[position] = timestampMillis;
+        runIndices[position] = runIndex;
+        return true;
+    }
+
+    public TopScores copy() {
+        TopScores copy = new TopScores(scores.length);
+        System.arraycopy(scores, 0, copy.scores, 0, size);
+        System.arraycopy(phases, 0, copy.phases, 0, size);
+        System.arraycopy(timestamps, 0, copy.timestamps, 0, size);
+        System.arraycopy(runIndices, 0, copy.runIndices, 0, size);
+        copy.size = size;
+        return copy;
+    }
+
+
+    // === ARQUIVO ===
+
+    void write(DataOutputStream output) throws IOException {
+        output.writeInt(scores.length);
+        output.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            output.writeInt(scores[i]);
+            output.writeByte(phases[i]);
+            output.writeLong(timestamps[i]);
+            output.writeLong(runIndices[i]);
+        }
+    }
+
+    /** Lê um índice salvo por {@link #write}; devolve null se ele foi salvo com outra capacidade. */
+    static TopScores read(DataInputStream input, int capacity) throws IOException {
+        if (input.readInt() != capacity) return null;
+        int size = input.readInt();
+        if (size < 0 || size > capacity) throw new IOException("Corrupt top scores: " + size + " entries");
+
+        TopScores topScores = new TopScores(capacity);
+        for (int i = 0; i < size; i++) {
+            topScores.scores[i] = input.readInt();
+            topScores.phases[i] = input.readUnsignedByte();
+            topScores.timestamps[i] = input.readLong();
+            topScores.runIndices[i] = input.readLong();
+        }
+        topScores.size = size;
+        return topScores;
+    }
+
+
+    // === ACESSO ===
+
+    public int size() { return size; }
+    public int getCapacity() { return scores.length; }
+    public int getScore(int rank) { return scores[rank]; }
+    /** Fase em que a partida terminou, começando em 0. */
+    public int getPhase(int rank) { return phases[rank]; }
+    public long getTimestamp(int rank) { return timestamps[rank]; }
+    public long getRunIndex(int rank) { return runIndices[rank]; }
+}
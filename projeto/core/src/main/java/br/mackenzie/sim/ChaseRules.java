@@ -0,0 +1,286 @@
+package br.mackenzie.sim;
+
+/**
+ * Regras e constantes da perseguição, sem nenhuma dependência do libGDX. São usadas tanto
+ * pelas entidades do jogo ({@link br.mackenzie.PlayerCharacter}, {@link br.mackenzie.Police},
+ * {@link br.mackenzie.Main}) quanto pela {@link SimulationBatch}, de modo que as duas
+ * simulações produzem exatamente os mesmos resultados.
+ * <p>
+ * Os setters existem para ferramentas de balanceamento; não altere uma instância enquanto
+ * alguma simulação a estiver usando.
+ */
+public class ChaseRules {
+    // --- Jogador ---
+    private float playerAccelerationPerTap = 100f;
+    private float playerMaxSpeed = 350f;
+    private float playerDecelerationRate = 100f;
+    private float playerWidth = 90f;
+    private float playerHeight = 120f;
+
+    // --- Polícia ---
+    private float policeInitialSpeed = 50f;
+    private float policeMaxSpeed = 250f;
+    private float policeAccelerationRate = 40f;
+    private float policeWidth = 110f;
+    private float policeHeight = 115f;
+    private float policeInitialOffsetX = 300f;
+    private float policeMaxDistancePercent = 0.75f;
+    private float policeDistanceReductionPerPhase = 0.2f;
+    private float policeMinDistanceFactor = 0.4f;
+
+    // --- Mundo e Câmera ---
+    private float entityY = 20f;
+    private float cameraEntityWidth = 115f;
+    private float cameraScrollThresholdLeftPercent = 0.2f;
+    private float cameraScrollThresholdRightPercent = 0.8f;
+
+    // --- Pontuação e Fases ---
+    private float scorePerSecond = 10f;
+    private int victoryScore = 300;
+    private float[] phaseSpeedMultipliers = {1.0f, 1.2f, 1.38f};
+    private int[] phaseScoreThresholds = {100, 250, 300};
+
+    // --- Obstáculos e Bônus ---
+    private boolean itemsEnabled = false;
+    private int maxActiveItems = 16;
+    private float itemSpawnAheadScreens = 1.5f;
+    private float itemMinSpawnGap = 450f;
+    private float itemMaxSpawnGap = 900f;
+    private float pickupChance = 0.3f;
+    private float obstacleWidth = 40f;
+    private float obstacleHeight = 50f;
+    private float pickupSize = 30f;
+    private float pickupHeightAboveGround = 70f;
+    private float obstacleSpeedFactor = 0.6f;
+    private float obstacleVaultTime = 0.25f;
+    private int pickupScoreBonus = 15;
+
+    // --- Modo sem fim e origem flutuante ---
+    private boolean endless = false;
+    private float worldChunkWidth = 1024f;
+    private float originRebaseDistance = 16384f;
+
+
+    // === JOGADOR ===
+
+    public float playerSpeedAfterTap(float speed) {
+        return Math.min(speed + playerAccelerationPerTap, playerMaxSpeed);
+    }
+
+    public float playerSpeedAfterDeceleration(float speed, float deltaTime) {
+        return Math.max(0f, speed - playerDecelerationRate * deltaTime);
+    }
+
+    public float playerStartX(float viewportWidth) {
+        return viewportWidth / 2f;
+    }
+
+
+    // === POLÍCIA ===
+
+    public float policeSpeedAfterAcceleration(float speed, float deltaTime) {
+        return Math.min(speed + policeAccelerationRate * deltaTime, policeMaxSpeed);
+    }
+
+    public float policeStartX(float playerX) {
+        return playerX - policeInitialOffsetX;
+    }
+
+    /** Distância máxima que a polícia pode ficar atrás do jogador; diminui a cada fase. */
+    public float policeCatchUpDistance(int phase, float viewportWidth) {
+        float maxDistance = viewportWidth * policeMaxDistancePercent;
+        float phaseDifficulty = 1.0f - (phase * policeDistanceReductionPerPhase);
+        return maxDistance * Math.max(policeMinDistanceFactor, phaseDifficulty);
+    }
+
+    public float policeXAfterCatchUp(float policeX, float playerX, int phase, float viewportWidth) {
+        return Math.max(policeX, playerX - policeCatchUpDistance(phase, viewportWidth));
+    }
+
+
+    // === OBSTÁCULOS E BÔNUS ===
+
+    /** Até onde, à frente da câmera, os itens já foram gerados. */
+    public float itemSpawnLimitX(float cameraX, float viewportWidth) {
+        return cameraX + viewportWidth * itemSpawnAheadScreens;
+    }
+
+    /** Distância até o próximo item, a partir de um sorteio uniforme em [0, 1). */
+    public float itemSpawnGap(float random) {
+        return itemMinSpawnGap + random * (itemMaxSpawnGap - itemMinSpawnGap);
+    }
+
+    /** Se o item sorteado com {@code random}, em [0, 1), é um bônus em vez de um obstáculo. */
+    public boolean isPickupRoll(float random) {
+        return random < pickupChance;
+    }
+
+    public float itemY(boolean pickup) { return pickup ? entityY + pickupHeightAboveGround : entityY; }
+    public float itemWidth(boolean pickup) { return pickup ? pickupSize : obstacleWidth; }
+    public float itemHeight(boolean pickup) { return pickup ? pickupSize : obstacleHeight; }
+
+    /**
+     * Se o item em {@code itemX} encosta no jogador em {@code playerX}, com o mesmo teste de
+     * {@code Rectangle.overlaps} que a grade de colisão de {@link br.mackenzie.Main} usa.
+     */
+    public boolean itemTouchesPlayer(float itemX, boolean pickup, float playerX) {
+        float itemY = itemY(pickup);
+        return itemX < playerX + playerWidth && itemX + itemWidth(pickup) > playerX
+            && itemY < entityY + playerHeight && itemY + itemHeight(pickup) > entityY;
+    }
+
+    /**
+     * Se o jogador passa por cima do obstáculo. Um toque pouco antes de chegar nele é um pulo;
+     * quem só desliza, sem tocar, bate e perde velocidade.
+     */
+    public boolean vaultsObstacle(float timeSinceTap) {
+        return timeSinceTap <= obstacleVaultTime;
+    }
+
+    /** Velocidade do jogador depois de bater num obstáculo. */
+    public float playerSpeedAfterObstacle(float speed) {
+        return speed * obstacleSpeedFactor;
+    }
+
+
+    // === CÂMERA ===
+
+    /** Nova posição da câmera, que só rola quando o jogador passa das margens da tela. */
+    public float cameraXFor(float playerX, float cameraX, float viewportWidth) {
+        float playerScreenX = playerX - cameraX;
+        float leftThreshold = viewportWidth * cameraScrollThresholdLeftPercent;
+        float rightThreshold = viewportWidth * cameraScrollThresholdRightPercent - cameraEntityWidth;
+
+        if (playerScreenX >= rightThreshold) {
+            cameraX = playerX - rightThreshold;
+        } else if (playerScreenX <= leftThreshold) {
+            cameraX = playerX - leftThreshold;
+        }
+        return Math.max(0f, cameraX);
+    }
+
+
+    // === COLISÃO E FASES ===
+
+    /** Jogador e polícia ficam na mesma altura, então basta comparar os intervalos em X. */
+    public boolean isCaught(float playerX, float policeX) {
+        return playerX < policeX + policeWidth && playerX + playerWidth > policeX;
+    }
+
+    public int getPhaseCount() { return phaseSpeedMultipliers.length; }
+
+    public float phaseSpeedMultiplier(int phase) { return phaseSpeedMultipliers[phase]; }
+
+    public boolean shouldAdvancePhase(int score, int phase) {
+        return phase < phaseScoreThresholds.length - 1 && score >= phaseScoreThresholds[phase];
+    }
+
+    public int phaseScoreThreshold(int phase) { return phaseScoreThresholds[phase]; }
+
+    /** No modo sem fim não há vitória: a partida só termina quando a polícia alcança o jogador. */
+    public boolean isVictory(int score) { return !endless && score >= victoryScore; }
+
+    /** No modo normal cada fase recomeça do início; no modo sem fim a corrida continua de onde estava. */
+    public boolean resetsPositionsOnPhaseChange() { return !endless; }
+
+
+    // === ORIGEM FLUTUANTE ===
+
+    /**
+     * Quanto subtrair de todas as coordenadas X quando a câmera passa de
+     * {@code originRebaseDistance}, para os floats não perderem precisão em corridas longas.
+     * É sempre um múltiplo inteiro de {@code worldChunkWidth}, então o deslocamento é exato e os
+     * pedaços do mundo continuam alinhados; devolve 0 enquanto não for preciso deslocar.
+     */
+    public float originShiftFor(float cameraX) {
+        if (cameraX < originRebaseDistance) return 0f;
+        return (float) Math.floor(cameraX / worldChunkWidth) * worldChunkWidth;
+    }
+
+
+    // === ACESSO ===
+
+    public float getPlayerMaxSpeed() { return playerMaxSpeed; }
+    public float getPlayerWidth() { return playerWidth; }
+    public float getPlayerHeight() { return playerHeight; }
+    public float getPoliceInitialSpeed() { return policeInitialSpeed; }
+    public float getPoliceWidth() { return policeWidth; }
+    public float getPoliceHeight() { return policeHeight; }
+    public float getEntityY() { return entityY; }
+    public float getScorePerSecond() { return scorePerSecond; }
+    public int getVictoryScore() { return victoryScore; }
+    public int getPickupScoreBonus() { return pickupScoreBonus; }
+    public boolean isItemsEnabled() { return itemsEnabled; }
+    public int getMaxActiveItems() { return maxActiveItems; }
+    public boolean isEndless() { return endless; }
+    public float getWorldChunkWidth() { return worldChunkWidth; }
+
+    public ChaseRules setPlayerAccelerationPerTap(float value) { playerAccelerationPerTap = value; return this; }
+    public ChaseRules setPlayerMaxSpeed(float value) { playerMaxSpeed = value; return this; }
+    public ChaseRules setPlayerDecelerationRate(float value) { playerDecelerationRate = value; return this; }
+    public ChaseRules setPoliceInitialSpeed(float value) { policeInitialSpeed = value; return this; }
+    public ChaseRules setPoliceMaxSpeed(float value) { policeMaxSpeed = value; return this; }
+    public ChaseRules setPoliceAccelerationRate(float value) { policeAccelerationRate = value; return this; }
+    public ChaseRules setPoliceMaxDistancePercent(float value) { policeMaxDistancePercent = value; return this; }
+    public ChaseRules setPoliceDistanceReductionPerPhase(float value) { policeDistanceReductionPerPhase = value; return this; }
+    public ChaseRules setPoliceMinDistanceFactor(float value) { policeMinDistanceFactor = value; return this; }
+    public ChaseRules setScorePerSecond(float value) { scorePerSecond = value; return this; }
+    public ChaseRules setVictoryScore(int value) { victoryScore = value; return this; }
+    public ChaseRules setItemsEnabled(boolean value) { itemsEnabled = value; return this; }
+    public ChaseRules setObstacleSpeedFactor(float value) { obstacleSpeedFactor = value; return this; }
+    public ChaseRules setObstacleVaultTime(float value) { obstacleVaultTime = value; return this; }
+    public ChaseRules setPickupScoreBonus(int value) { pickupScoreBonus = value; return this; }
+    public ChaseRules setEndless(boolean value) { endless = value; return this; }
+
+    public ChaseRules setPhases(float[] speedMultipliers, int[] scoreThresholds) {
+        if (speedMultipliers.length != scoreThresholds.length) {
+            throw new IllegalArgumentException("Each phase needs a speed multiplier and a score threshold");
+        }
+        phaseSpeedMultipliers = speedMultipliers.clone();
+        phaseScoreThresholds = scoreThresholds.clone();
+        return this;
+    }
+
+    public ChaseRules copy() {
+        ChaseRules copy = new ChaseRules();
+        copy.playerAccelerationPerTap = playerAccelerationPerTap;
+        copy.playerMaxSpeed = playerMaxSpeed;
+        copy.playerDecelerationRate = playerDecelerationRate;
+        copy.playerWidth = playerWidth;
+        copy.playerHeight = playerHeight;
+        copy.policeInitialSpeed = policeInitialSpeed;
+        copy.policeMaxSpeed = policeMaxSpeed;
+        copy.policeAccelerationRate = policeAccelerationRate;
+        copy.policeWidth = policeWidth;
+        copy.policeHeight = policeHeight;
+        copy.policeInitialOffsetX = policeInitialOffsetX;
+        copy.policeMaxDistancePercent = policeMaxDistancePercent;
+        copy.policeDistanceReductionPerPhase = policeDistanceReductionPerPhase;
+        copy.policeMinDistanceFactor = policeMinDistanceFactor;
+        copy.entityY = entityY;
+        copy.cameraEntityWidth = cameraEntityWidth;
+        copy.cameraScrollThresholdLeftPercent = cameraScrollThresholdLeftPercent;
+        copy.cameraScrollThresholdRightPercent = cameraScrollThresholdRightPercent;
+        copy.scorePerSecond = scorePerSecond;
+        copy.victoryScore = victoryScore;
+        copy.phaseSpeedMultipliers = phaseSpeedMultipliers.clone();
+        copy.phaseScoreThresholds = phaseScoreThresholds.clone();
+        copy.itemsEnabled = itemsEnabled;
+        copy.maxActiveItems = maxActiveItems;
+        copy.itemSpawnAheadScreens = itemSpawnAheadScreens;
+        copy.itemMinSpawnGap = itemMinSpawnGap;
+        copy.itemMaxSpawnGap = itemMaxSpawnGap;
+        copy.pickupChance = pickupChance;
+        copy.obstacleWidth = obstacleWidth;
+        copy.obstacleHeight = obstacleHeight;
+        copy.pickupSize = pickupSize;
+        copy.pickupHeightAboveGround = pickupHeightAboveGround;
+        copy.obstacleSpeedFactor = obstacleSpeedFactor;
+        copy.obstacleVaultTime = obstacleVaultTime;
+        copy.pickupScoreBonus = pickupScoreBonus;
+        copy.endless = endless;
+        copy.worldChunkWidth = worldChunkWidth;
+        copy.originRebaseDistance = originRebaseDistance;
+        return copy;
+    }
+}
@@ -0,0 +1,33 @@
+package br.mackenzie.sim;
+
+/** Percorre uma {@link InputRecording} em ordem de passo, devolvendo os eventos de cada um. */
+public class InputPlayback {
+    private final InputRecording recording;
+    private int cursor;
+
+    public InputPlayback(InputRecording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Quantos eventos do tipo pedido foram gravados no passo {@code tick}. Os passos devem ser
+     * consultados em ordem crescente; eventos de passos anteriores são descartados.
+     */
+    public int count(int tick, byte type) {
+        while (cursor < recording.getEventCount() && recording.getEventTick(cursor) < tick) {
+            cursor++;
+        }
+        int count = 0;
+        for (int i = cursor; i < recording.getEventCount() && recording.getEventTick(i) == tick; i++) {
+            if (recording.getEventType(i) == type) count++;
+        }
+        return count;
+    }
+
+    /** Verdadeiro quando {@code tick} já passou do último passo da partida gravada. */
+    public boolean isFinished(int tick) {
+        return tick >= recording.getTickCount();
+    }
+
+    public InputRecording getRecording() { return recording; }
+}
@@ -0,0 +1,178 @@
+package br.mackenzie.sim;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Entradas de uma partida, indexadas pelo passo fixo da simulação em que foram aplicadas.
+ * Junto com as regras e a semente do mundo, bastam para reproduzir a partida no jogo, com
+ * janela ou sem ({@code HeadlessGame}), pelo {@link InputPlayback}.
+ * <p>
+ * Além dos toques, a gravação guarda as batidas em obstáculos e os bônus recolhidos, para
+ * análise; ao refazer a partida o jogo gera os itens de novo a partir da semente e não depende deles.
+ * <p>
+ * Formato binário: cabeçalho (magic, versão, frequência, tamanho da tela, semente, modo sem fim e itens) seguido de
+ * um varint por evento com {@code (diferença de passos << 2) | tipo}. O evento final leva o
+ * número de passos executados, o resultado e a pontuação.
+ */
+public class InputRecording {
+    public static final byte TAP = 0;
+    public static final byte OBSTACLE_HIT = 1;
+    public static final byte PICKUP = 2;
+    private static final byte END = 3;
+
+    private static final int MAGIC = 0x52504C59; // "RPLY"
+    private static final int VERSION = 3;
+    private static final int FLAG_ENDLESS = 1;
+    private static final int FLAG_ITEMS = 2;
+    private static final int INITIAL_CAPACITY = 256;
+
+    // --- Cabeçalho ---
+    private final int simulationHz;
+    private final float viewportWidth;
+    private final float viewportHeight;
+    private final long worldSeed;
+    private final boolean endless;
+    private final boolean itemsEnabled;
+
+    // --- Eventos ---
+    private int[] eventTicks = new int[INITIAL_CAPACITY];
+    private byte[] eventTypes = new byte[INITIAL_CAPACITY];
+    private int eventCount;
+
+    // --- Resultado ---
+    private int tickCount = -1;
+    private byte outcome = SimulationBatch.RUNNING;
+    private int finalScore;
+
+    public InputRecording(int simulationHz, float viewportWidth, float viewportHeight, long worldSeed, boolean endless,
+                          boolean itemsEnabled) {
+        if (simulationHz <= 0) throw new IllegalArgumentException("simulationHz must be positive: " + simulationHz);
+        this.simulationHz = simulationHz;
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+        this.worldSeed = worldSeed;
+        this.endless = endless;
+        this.itemsEnabled = itemsEnabled;
+    }
+
+    public void add(int tick, byte type) {
+        if (type < TAP || type > PICKUP) throw new IllegalArgumentException("Unknown event type: " + type);
+        if (isFinished()) throw new IllegalStateException("Recording already finished");
+        if (eventCount > 0 && tick < eventTicks[eventCount - 1]) {
+            throw new IllegalArgumentException("Events must be added in tick order: " + tick);
+        }
+        if (eventCount == eventTicks.length) {
+            eventTicks = Arrays.copyOf(eventTicks, eventCount * 2);
+            eventTypes = Arrays.copyOf(eventTypes, eventCount * 2);
+        }
+        eventTicks[eventCount] = tick;
+        eventTypes[eventCount] = type;
+        eventCount++;
+    }
+
+    /**
+     * Encerra a gravação.
+     *
+     * @param tickCount número de passos executados na partida
+     * @param outcome {@link SimulationBatch#CAUGHT}, {@link SimulationBatch#ESCAPED} ou
+     *                {@link SimulationBatch#RUNNING} quando a partida foi abandonada
+     */
+    public void finish(int tickCount, byte outcome, int finalScore) {
+        if (tickCount < 0) throw new IllegalArgumentException("tickCount must not be negative: " + tickCount);
+        this.tickCount = tickCount;
+        this.outcome = outcome;
+        this.finalScore = finalScore;
+    }
+
+
+    // === ARQUIVO ===
+
+    public void write(OutputStream output) throws IOException {
+        if (!isFinished()) throw new IllegalStateException("Finish the recording before writing it");
+
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        writeVarInt(data, simulationHz);
+        data.writeFloat(viewportWidth);
+        data.writeFloat(viewportHeight);
+        data.writeLong(worldSeed);
+        data.writeByte((endless ? FLAG_ENDLESS : 0) | (itemsEnabled ? FLAG_ITEMS : 0));
+
+        int previousTick = 0;
+        for (int i = 0; i < eventCount; i++) {
+            writeVarInt(data, (eventTicks[i] - previousTick) << 2 | eventTypes[i]);
+            previousTick = eventTicks[i];
+        }
+        writeVarInt(data, (tickCount - previousTick) << 2 | END);
+        data.writeByte(outcome);
+        writeVarInt(data, finalScore);
+        data.flush();
+    }
+
+    public static InputRecording read(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(input);
+        if (data.readInt() != MAGIC) throw new IOException("Not an input recording");
+        int version = data.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported recording version: " + version);
+
+        int simulationHz = readVarInt(data);
+        float viewportWidth = data.readFloat();
+        float viewportHeight = data.readFloat();
+        long worldSeed = data.readLong();
+        int flags = data.readUnsignedByte();
+        InputRecording recording = new InputRecording(simulationHz, viewportWidth, viewportHeight, worldSeed,
+            (flags & FLAG_ENDLESS) != 0, (flags & FLAG_ITEMS) != 0);
+        int tick = 0;
+        while (true) {
+            int event = readVarInt(data);
+            tick += event >>> 2;
+            byte type = (byte) (event & 3);
+            if (type == END) {
+                recording.finish(tick, data.readByte(), readVarInt(data));
+                return recording;
+            }
+            recording.add(tick, type);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream data, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            data.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream data) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+
+    // === ACESSO ===
+
+    public int getSimulationHz() { return simulationHz; }
+    public float getViewportWidth() { return viewportWidth; }
+    public float getViewportHeight() { return viewportHeight; }
+    public long getWorldSeed() { return worldSeed; }
+    public boolean isEndless() { return endless; }
+    public boolean isItemsEnabled() { return itemsEnabled; }
+    public int getEventCount() { return eventCount; }
+    public int getEventTick(int i) { return eventTicks[i]; }
+    public byte getEventType(int i) { return eventTypes[i]; }
+    public boolean isFinished() { return tickCount >= 0; }
+    public int getTickCount() { return tickCount; }
+    public byte getOutcome() { return outcome; }
+    public int getFinalScore() { return finalScore; }
+}
@@ -0,0 +1,336 @@
+package br.mackenzie.sim;
+
+import java.util.Arrays;
+
+/**
+ * Simula várias partidas independentes ao mesmo tempo, sem OpenGL e sem chamadas a
+ * {@code Gdx.*}. O estado fica em arrays primitivos (uma posição por partida) e cada passo
+ * percorre os arrays em laços simples e separados, que o JIT consegue vetorizar.
+ * <p>
+ * Cada chamada a {@link #step(int[])} equivale a um passo fixo de {@link br.mackenzie.Main}:
+ * toques, jogador, polícia, pontuação, câmera, aproximação da polícia, origem flutuante,
+ * itens, colisão e troca de fase, nessa ordem e com as mesmas fórmulas de {@link ChaseRules}.
+ * <p>
+ * Com {@link ChaseRules#isItemsEnabled()} ligado, cada partida gera seus obstáculos e bônus como
+ * o {@link br.mackenzie.ItemSpawner}: o mesmo gerador xorshift128+ do {@code RandomXS128} do
+ * libGDX, com a mesma semente ({@link #setWorldSeed(long)}) e os sorteios na mesma ordem.
+ */
+public class SimulationBatch {
+    public static final byte RUNNING = 0;
+    public static final byte CAUGHT = 1;
+    public static final byte ESCAPED = 2;
+    public static final long DEFAULT_WORLD_SEED = 0x5EEDL;
+
+    private static final double FLOAT_UNIT = 1.0 / (1L << 24);
+
+    private final ChaseRules rules;
+    private final int size;
+    private final float deltaTime;
+    private final float viewportWidth;
+
+    // --- Estado por partida ---
+    private final float[] playerX;
+    private final float[] playerSpeed;
+    private final float[] policeX;
+    private final float[] policeSpeed;
+    private final float[] policeSpeedMultiplier;
+    private final float[] cameraX;
+    private final float[] score;
+    private final int[] phase;
+    private final int[] ticks;
+    private final byte[] status;
+    private final float[] timeSinceTap;
+
+    // --- Itens por partida; vazios quando os itens estão desligados ---
+    private final boolean itemsEnabled;
+    private final int maxItems;
+    private final float[] itemX;          // maxItems posições por partida
+    private final boolean[] itemPickup;
+    private final int[] itemCount;
+    private final float[] nextSpawnX;
+    private final long[] itemSeed0;
+    private final long[] itemSeed1;
+    private long worldSeed = DEFAULT_WORLD_SEED;
+
+    public SimulationBatch(ChaseRules rules, int size, int simulationHz, float viewportWidth) {
+        if (size <= 0) throw new IllegalArgumentException("size must be positive: " + size);
+        if (simulationHz <= 0) throw new IllegalArgumentException("simulationHz must be positive: " + simulationHz);
+        this.rules = rules;
+        this.size = size;
+        this.deltaTime = 1f / simulationHz;
+        this.viewportWidth = viewportWidth;
+
+        playerX = new float[size];
+        playerSpeed = new float[size];
+        policeX = new float[size];
+        policeSpeed = new float[size];
+        policeSpeedMultiplier = new float[size];
+        cameraX = new float[size];
+        score = new float[size];
+        phase = new int[size];
+        ticks = new int[size];
+        status = new byte[size];
+        timeSinceTap = new float[size];
+
+        itemsEnabled = rules.isItemsEnabled();
+        maxItems = itemsEnabled ? rules.getMaxActiveItems() : 0;
+        int itemGames = itemsEnabled ? size : 0;
+        itemX = new float[itemGames * maxItems];
+        itemPickup = new boolean[itemGames * maxItems];
+        itemCount = new int[itemGames];
+        nextSpawnX = new float[itemGames];
+        itemSeed0 = new long[itemGames];
+        itemSeed1 = new long[itemGames];
+        resetAll();
+    }
+
+    public void resetAll() {
+        for (int i = 0; i < size; i++) {
+            reset(i);
+        }
+    }
+
+    public void reset(int i) {
+        playerX[i] = rules.playerStartX(viewportWidth);
+        playerSpeed[i] = 0f;
+        policeX[i] = rules.policeStartX(playerX[i]);
+        policeSpeed[i] = rules.getPoliceInitialSpeed();
+        policeSpeedMultiplier[i] = 1.0f;
+        cameraX[i] = 0f;
+        score[i] = 0f;
+        phase[i] = 0;
+        ticks[i] = 0;
+        status[i] = RUNNING;
+        timeSinceTap[i] = Float.POSITIVE_INFINITY;
+        if (itemsEnabled) {
+            setItemSeed(i, worldSeed);
+            resetItems(i);
+        }
+    }
+
+    /** Semente dos itens, como {@code GameConfig#setWorldSeed(long)}; vale a partir do próximo {@link #reset(int)}. */
+    public void setWorldSeed(long worldSeed) {
+        this.worldSeed = worldSeed;
+        if (itemsEnabled) resetAll();
+    }
+
+    /**
+     * Avança um passo fixo em todas as partidas que ainda estão em andamento.
+     *
+     * @param taps número de toques na barra de espaço de cada partida neste passo; pode ser
+     *             {@code null} quando ninguém tocou
+     */
+    public void step(int[] taps) {
+        final float dt = deltaTime;
+
+        if (taps != null) {
+            for (int i = 0; i < size; i++) {
+                if (status[i] != RUNNING) continue;
+                for (int t = taps[i]; t > 0; t--) {
+                    playerSpeed[i] = rules.playerSpeedAfterTap(playerSpeed[i]);
+                }
+                if (taps[i] > 0) timeSinceTap[i] = 0f;
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (status[i] != RUNNING) continue;
+            playerSpeed[i] = rules.playerSpeedAfterDeceleration(playerSpeed[i], dt);
+            timeSinceTap[i] += dt;
+            playerX[i] += playerSpeed[i] * dt;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (status[i] != RUNNING) continue;
+            policeSpeed[i] = rules.policeSpeedAfterAcceleration(policeSpeed[i], dt);
+            policeX[i] += (policeSpeed[i] * policeSpeedMultiplier[i]) * dt;
+        }
+
+        final float scorePerSecond = rules.getScorePerSecond();
+        for (int i = 0; i < size; i++) {
+            if (status[i] != RUNNING) continue;
+            score[i] += scorePerSecond * dt;
+            ticks[i]++;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (status[i] != RUNNING) continue;
+            cameraX[i] = rules.cameraXFor(playerX[i], cameraX[i], viewportWidth);
+            playerX[i] = Math.max(0f, playerX[i]);
+            policeX[i] = rules.policeXAfterCatchUp(policeX[i], playerX[i], phase[i], viewportWidth);
+            policeSpeedMultiplier[i] = rules.phaseSpeedMultiplier(phase[i]);
+
+            float originShift = rules.originShiftFor(cameraX[i]);
+            cameraX[i] -= originShift;
+            playerX[i] -= originShift;
+            policeX[i] -= originShift;
+            if (itemsEnabled && originShift != 0f) shiftItems(i, originShift);
+        }
+
+        if (itemsEnabled) {
+            for (int i = 0; i < size; i++) {
+                if (status[i] != RUNNING) continue;
+                updateItems(i);
+                collectItems(i);
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (status[i] != RUNNING) continue;
+            if (rules.isCaught(playerX[i], policeX[i])) {
+                status[i] = CAUGHT;
+                continue;
+            }
+
+            int currentScore = (int) score[i];
+            if (rules.shouldAdvancePhase(currentScore, phase[i])) {
+                advancePhase(i);
+            }
+            if (rules.isVictory(currentScore)) {
+                status[i] = ESCAPED;
+            }
+        }
+    }
+
+    /** Mesmo efeito de {@code Main.changePhase()}: volta jogador, polícia e câmera ao início. */
+    private void advancePhase(int i) {
+        phase[i]++;
+        if (!rules.resetsPositionsOnPhaseChange()) return;
+
+        cameraX[i] = 0f;
+        playerX[i] = rules.playerStartX(viewportWidth);
+        policeX[i] = rules.policeStartX(playerX[i]);
+        cameraX[i] = rules.cameraXFor(playerX[i], cameraX[i], viewportWidth);
+        if (itemsEnabled) resetItems(i);
+    }
+
+
+    // === ITENS ===
+
+    /** Mesmo efeito de {@code Main.resetItems()}: nenhum item, o próximo a uma tela da câmera. */
+    private void resetItems(int i) {
+        itemCount[i] = 0;
+        nextSpawnX[i] = cameraX[i] + viewportWidth;
+    }
+
+    private void shiftItems(int i, float shift) {
+        int base = i * maxItems;
+        for (int k = 0; k < itemCount[i]; k++) {
+            itemX[base + k] -= shift;
+        }
+        nextSpawnX[i] -= shift;
+    }
+
+    /** Mesmo efeito de {@code ItemSpawner.update()}, com os sorteios na mesma ordem. */
+    private void updateItems(int i) {
+        int base = i * maxItems;
+        for (int k = itemCount[i] - 1; k >= 0; k--) {
+            boolean pickup = itemPickup[base + k];
+            if (itemX[base + k] + rules.itemWidth(pickup) < cameraX[i]) removeItem(i, k);
+        }
+
+        float spawnLimitX = rules.itemSpawnLimitX(cameraX[i], viewportWidth);
+        while (nextSpawnX[i] < spawnLimitX) {
+            if (itemCount[i] < maxItems) {
+                int slot = base + itemCount[i]++;
+                itemX[slot] = nextSpawnX[i];
+                itemPickup[slot] = rules.isPickupRoll(nextItemFloat(i));
+            }
+            nextSpawnX[i] += rules.itemSpawnGap(nextItemFloat(i));
+        }
+    }
+
+    /** Mesmo efeito de {@code Main.collectItem()} para todos os itens que encostam no jogador. */
+    private void collectItems(int i) {
+        int base = i * maxItems;
+        for (int k = itemCount[i] - 1; k >= 0; k--) {
+            boolean pickup = itemPickup[base + k];
+            if (!rules.itemTouchesPlayer(itemX[base + k], pickup, playerX[i])) continue;
+
+            if (pickup) {
+                score[i] += rules.getPickupScoreBonus();
+            } else if (!rules.vaultsObstacle(timeSinceTap[i])) {
+                playerSpeed[i] = rules.playerSpeedAfterObstacle(playerSpeed[i]);
+            }
+            removeItem(i, k);
+        }
+    }
+
+    /** A ordem dos itens não importa; o último ocupa o lugar do removido. */
+    private void removeItem(int i, int k) {
+        int base = i * maxItems;
+        int last = base + --itemCount[i];
+        itemX[base + k] = itemX[last];
+        itemPickup[base + k] = itemPickup[last];
+    }
+
+    /** {@code RandomXS128.setSeed(long)}. */
+    private void setItemSeed(int i, long seed) {
+        long seed0 = murmurHash3(seed == 0 ? Long.MIN_VALUE : seed);
+        itemSeed0[i] = seed0;
+        itemSeed1[i] = murmurHash3(seed0);
+    }
+
+    /** {@code RandomXS128.nextFloat()}: xorshift128+ com o estado da partida {@code i}. */
+    private float nextItemFloat(int i) {
+        long s1 = itemSeed0[i];
+        final long s0 = itemSeed1[i];
+        itemSeed0[i] = s0;
+        s1 ^= s1 << 23;
+        long next = (itemSeed1[i] = (s1 ^ s0 ^ (s1 >>> 17) ^ (s0 >>> 26))) + s0;
+        return (float) ((next >>> 40) * FLOAT_UNIT);
+    }
+
+    private static long murmurHash3(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return x;
+    }
+
+    /** Avança até todas as partidas terminarem ou até {@code maxTicks} passos. */
+    public void runToEnd(int maxTicks, TapSource tapSource) {
+        int[] taps = new int[size];
+        for (int tick = 0; tick < maxTicks && countRunning() > 0; tick++) {
+            Arrays.fill(taps, 0);
+            if (tapSource != null) tapSource.fillTaps(this, tick, taps);
+            step(taps);
+        }
+    }
+
+    public int countRunning() {
+        int running = 0;
+        for (int i = 0; i < size; i++) {
+            if (status[i] == RUNNING) running++;
+        }
+        return running;
+    }
+
+    /** Fonte de entrada para {@link #runToEnd(int, TapSource)}: preenche os toques de cada partida. */
+    public interface TapSource {
+        void fillTaps(SimulationBatch batch, int tick, int[] taps);
+    }
+
+
+    // === ACESSO ===
+
+    public ChaseRules getRules() { return rules; }
+    public int size() { return size; }
+    public float getDeltaTime() { return deltaTime; }
+    public float getViewportWidth() { return viewportWidth; }
+    public float getPlayerX(int i) { return playerX[i]; }
+    public float getPlayerSpeed(int i) { return playerSpeed[i]; }
+    public float getPoliceX(int i) { return policeX[i]; }
+    public float getPoliceSpeed(int i) { return policeSpeed[i]; }
+    public float getCameraX(int i) { return cameraX[i]; }
+    public int getScore(int i) { return (int) score[i]; }
+    public int getPhase(int i) { return phase[i]; }
+    public int getTicks(int i) { return ticks[i]; }
+    public byte getStatus(int i) { return status[i]; }
+    public long getWorldSeed() { return worldSeed; }
+    public int getItemCount(int i) { return itemsEnabled ? itemCount[i] : 0; }
+    public float getItemX(int i, int k) { return itemX[i * maxItems + k]; }
+    public boolean isItemPickup(int i, int k) { return itemPickup[i * maxItems + k]; }
+}
@@ -0,0 +1,127 @@
+package br.mackenzie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+import br.mackenzie.sim.ChaseRules;
+
+class CollisionGridTest {
+    // Várias rodadas curtas, para o JIT compilar o laço inteiro e não só a substituição na pilha
+    private static final int WARM_UP_ROUNDS = 20;
+    private static final int WARM_UP_FRAMES = 5_000;
+    private static final int MEASURED_FRAMES = 100_000;
+    private static final int MEASUREMENT_ATTEMPTS = 3;
+    private static final float VIEWPORT_WIDTH = 1280f;
+    private static final float PLAYER_STEP = 5f;
+
+    private final ChaseRules rules = new ChaseRules();
+    private final AnimationAtlas animationAtlas = AnimationAtlas.withoutTextures();
+    private final CollisionGrid<Object> grid = new CollisionGrid<>(128f, 64, 32);
+    private final Array<Object> hits = new Array<>(false, 32);
+    private final CountingListener countingListener = new CountingListener();
+
+    @Test
+    void queryReturnsOnlyOverlappingOwners() {
+        Rectangle near = new Rectangle(100f, 0f, 50f, 50f);
+        Rectangle far = new Rectangle(5000f, 0f, 50f, 50f);
+        grid.insert(near, near);
+        grid.insert(far, far);
+
+        grid.query(new Rectangle(120f, 10f, 10f, 10f), hits);
+
+        assertEquals(1, hits.size);
+        assertSame(near, hits.first());
+    }
+
+    @Test
+    void objectSpanningSeveralCellsIsReportedOnce() {
+        Rectangle wide = new Rectangle(0f, 0f, 1000f, 300f);
+        grid.insert(wide, wide);
+
+        grid.query(new Rectangle(-10f, -10f, 2000f, 400f), hits);
+
+        assertEquals(1, hits.size);
+    }
+
+    /** O {@link CollisionPass} que {@code Main.checkCollisions()} roda, quadro após quadro, não pode alocar nada. */
+    @Test
+    void checkingCollisionsEveryFrameAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads = allocationCounter();
+        PlayerCharacter player = new PlayerCharacter(0f, rules.getEntityY(), animationAtlas, rules);
+        Police police = new Police(-300f, rules.getEntityY(), animationAtlas, rules);
+        ItemSpawner itemSpawner = new ItemSpawner(42L, rules);
+        itemSpawner.reset(VIEWPORT_WIDTH);
+        itemSpawner.update(0f, VIEWPORT_WIDTH);
+        CollisionPass collisionPass = new CollisionPass();
+        long threadId = Thread.currentThread().getId();
+
+        int hitCount = 0;
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            hitCount += runFrames(collisionPass, player, police, itemSpawner, WARM_UP_FRAMES);
+        }
+        assertTrue(hitCount > 0, "the player never reached an item; the test is not exercising the grid");
+        assertEquals(0, countingListener.policeHits, "the police should stay behind the player");
+
+        // Desconta o que a própria leitura do contador aloca. Uma desotimização do JIT pode alocar
+        // alguns bytes uma única vez; uma alocação por quadro apareceria em todas as medições
+        long probeStart = threads.getThreadAllocatedBytes(threadId);
+        long probeOverhead = threads.getThreadAllocatedBytes(threadId) - probeStart;
+
+        long fewestBytes = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < MEASUREMENT_ATTEMPTS && fewestBytes != 0L; attempt++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            runFrames(collisionPass, player, police, itemSpawner, MEASURED_FRAMES);
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before - probeOverhead;
+            fewestBytes = Math.min(fewestBytes, allocated);
+        }
+
+        assertEquals(0L, fewestBytes, "bytes allocated by " + MEASURED_FRAMES + " frames of collision checks");
+    }
+
+    private int runFrames(CollisionPass collisionPass, PlayerCharacter player, Police police,
+                          ItemSpawner itemSpawner, int frames) {
+        countingListener.itemHits = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            // O jogador atravessa os itens gerados e volta, para as consultas encontrarem algo
+            player.setX((frame * PLAYER_STEP) % (VIEWPORT_WIDTH * 2f));
+            police.setX(player.getX() - 300f);
+
+            collisionPass.run(player, police, itemSpawner, countingListener);
+        }
+        return countingListener.itemHits;
+    }
+
+    /** Só conta os contatos; os itens não são consumidos, para o jogador encontrá-los de novo. */
+    private static final class CountingListener implements CollisionPass.Listener {
+        int policeHits;
+        int itemHits;
+
+        @Override
+        public void policeReached() {
+            policeHits++;
+        }
+
+        @Override
+        public void itemReached(WorldItem item) {
+            itemHits++;
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean, "this JVM cannot count allocated bytes");
+        com.sun.management.ThreadMXBean allocationThreads = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocationThreads.isThreadAllocatedMemorySupported(), "this JVM cannot count allocated bytes");
+        allocationThreads.setThreadAllocatedMemoryEnabled(true);
+        return allocationThreads;
+    }
+}
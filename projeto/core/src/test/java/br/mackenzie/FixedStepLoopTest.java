@@ -0,0 +1,130 @@
+package br.mackenzie;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.badlogic.gdx.Input;
+
+import br.mackenzie.sim.ChaseRules;
+
+/**
+ * O {@link FixedStepLoop} que {@code Main.advanceSimulation()} usa: cada toque acelera o jogador
+ * uma vez, no passo em que o seu instante cai, e nenhum se perde.
+ */
+class FixedStepLoopTest {
+    private static final int TAP_KEY = Input.Keys.SPACE;
+    private static final int SIMULATION_HZ = 60;
+    private static final float MAX_FRAME_TIME = 0.25f;
+    private static final long FRAME_START_NANOS = 1_000_000_000L;
+    /** Um quadro lento de 0,1 s, que a 60 Hz roda seis passos. */
+    private static final float SLOW_FRAME = 0.1f;
+    private static final long SLOW_FRAME_NANOS = 100_000_000L;
+    private static final long STEP_NANOS = 1_000_000_000L / SIMULATION_HZ;
+    private static final float SPEED_TOLERANCE = 1e-3f;
+
+    private final ChaseRules rules = new ChaseRules();
+    private final InputEventQueue queue = new InputEventQueue(64);
+    private final FixedStepLoop loop = new FixedStepLoop(SIMULATION_HZ, MAX_FRAME_TIME, queue, TAP_KEY);
+    private final PlayerCharacter player = new PlayerCharacter(0f, 0f, AnimationAtlas.withoutTextures(), rules);
+    private final int[] tapsPerStep = new int[32];
+    private final float[] speedAfterTaps = new float[32];
+    private int stepsRun;
+    private int stopAfterStep = Integer.MAX_VALUE;
+
+    /** Aplica os toques do passo ao jogador e avança um passo, como {@code Main.updateGame()}. */
+    private final FixedStepLoop.Step playerStep = taps -> {
+        for (int t = 0; t < taps; t++) player.tap();
+        tapsPerStep[stepsRun] = taps;
+        speedAfterTaps[stepsRun] = player.getSpeed();
+        player.update(loop.getStep());
+        stepsRun++;
+        return stepsRun < stopAfterStep;
+    };
+
+    @Test
+    void slowFrameRunsSixStepsAndKeepsTheRemainder() {
+        assertEquals(6, loop.advance(SLOW_FRAME, FRAME_START_NANOS, playerStep));
+        assertEquals(0f, loop.getInterpolationAlpha(), 1e-3f);
+
+        assertEquals(0, loop.advance(0.01f, FRAME_START_NANOS, playerStep));
+        assertEquals(0.6f, loop.getInterpolationAlpha(), 1e-3f);
+
+        // Uma travada longa roda no máximo MAX_FRAME_TIME de simulação
+        assertEquals(15, loop.advance(5f, FRAME_START_NANOS, playerStep));
+    }
+
+    @Test
+    void burstReadInOneFrameLandsInOneStepAndReachesTheSpeedCap() {
+        // Como no LWJGL3: todos os eventos do quadro lidos juntos, com o mesmo instante, antes dele
+        for (int i = 0; i < 5; i++) {
+            queue.offer(InputEventQueue.KEY_DOWN, TAP_KEY, FRAME_START_NANOS);
+            queue.offer(InputEventQueue.KEY_UP, TAP_KEY, FRAME_START_NANOS);
+        }
+        queue.offer(InputEventQueue.KEY_DOWN, Input.Keys.ESCAPE, FRAME_START_NANOS);
+
+        loop.advance(SLOW_FRAME, FRAME_START_NANOS + SLOW_FRAME_NANOS, playerStep);
+
+        assertEquals(6, stepsRun);
+        assertArrayEquals(new int[] {5, 0, 0, 0, 0, 0}, Arrays.copyOf(tapsPerStep, stepsRun));
+        assertEquals(rules.getPlayerMaxSpeed(), speedAfterTaps[0], SPEED_TOLERANCE);
+        assertEquals(350f, speedAfterTaps[0], SPEED_TOLERANCE);
+        // Seis passos de desaceleração a 100 por segundo depois do pico
+        assertEquals(340f, player.getSpeed(), SPEED_TOLERANCE);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void tapsStampedAcrossTheFrameAreSpreadOverTheirSteps() {
+        long frameNanos = FRAME_START_NANOS + SLOW_FRAME_NANOS;
+        // Um toque no meio de cada passo do quadro, e dois no terceiro
+        long firstStepEnd = frameNanos - 5 * STEP_NANOS;
+        for (int step = 0; step < 6; step++) {
+            long at = firstStepEnd - STEP_NANOS / 2 + step * STEP_NANOS;
+            queue.offer(InputEventQueue.KEY_DOWN, TAP_KEY, at);
+            if (step == 2) queue.offer(InputEventQueue.KEY_DOWN, TAP_KEY, at + 1);
+        }
+
+        loop.advance(SLOW_FRAME, frameNanos, playerStep);
+
+        assertEquals(6, stepsRun);
+        assertArrayEquals(new int[] {1, 1, 2, 1, 1, 1}, Arrays.copyOf(tapsPerStep, stepsRun));
+        // 100 por toque, menos 100/60 de desaceleração por passo, até o teto de 350
+        float[] expected = {100f, 198.333f, 350f, 350f, 350f, 350f};
+        for (int step = 0; step < 6; step++) {
+            assertEquals(expected[step], speedAfterTaps[step], SPEED_TOLERANCE, "speed after the taps of step " + step);
+        }
+        assertEquals(348.333f, player.getSpeed(), SPEED_TOLERANCE);
+    }
+
+    @Test
+    void tapsAfterTheLastStepWaitForTheNextFrame() {
+        long frameNanos = FRAME_START_NANOS + SLOW_FRAME_NANOS;
+        queue.offer(InputEventQueue.KEY_DOWN, TAP_KEY, frameNanos + 1);
+
+        loop.advance(SLOW_FRAME, frameNanos, playerStep);
+        assertEquals(0f, player.getSpeed());
+        assertFalse(queue.isEmpty());
+
+        stepsRun = 0;
+        loop.advance(SLOW_FRAME, frameNanos + SLOW_FRAME_NANOS, playerStep);
+        assertArrayEquals(new int[] {1, 0, 0, 0, 0, 0}, Arrays.copyOf(tapsPerStep, stepsRun));
+        assertEquals(100f, speedAfterTaps[0], SPEED_TOLERANCE);
+    }
+
+    @Test
+    void stepThatEndsTheRunStopsTheFrame() {
+        long frameNanos = FRAME_START_NANOS + SLOW_FRAME_NANOS;
+        queue.offer(InputEventQueue.KEY_DOWN, TAP_KEY, frameNanos);
+        stopAfterStep = 2;
+
+        assertEquals(2, loop.advance(SLOW_FRAME, frameNanos, playerStep));
+        // O toque do fim do quadro não foi consumido por nenhum passo
+        assertFalse(queue.isEmpty());
+    }
+}
@@ -0,0 +1,146 @@
+package br.mackenzie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+import br.mackenzie.sim.ChaseRules;
+
+/**
+ * Reinicia o jogo inteiro, sem janela, mil vezes e confere que as texturas na GPU não crescem:
+ * cada reinício devolve o que pegou. A maioria das partidas é reiniciada nos primeiros quadros,
+ * algumas com o fundo da fase seguinte ainda decodificando; de vez em quando uma vai até a
+ * vitória, passando por todas as trocas de fundo, ou é abandonada logo depois da primeira.
+ * Cada partida também tem de gerar um único evento de fim: vitória ou reinício, nunca os dois.
+ * O reinício depois da troca de fase, como pelo menu de pausa, tem de caber num quadro: o fundo
+ * da primeira fase continua na GPU e não é carregado de novo.
+ */
+class RestartSoakTest {
+    private static final int RESTARTS = 1000;
+    private static final int MAX_LOADING_FRAMES = 10_000;
+    private static final int FULL_RUN_FRAMES = 200;
+    private static final int FULL_RUN_EVERY = 100;
+    private static final int EARLY_RESTART_FRAMES = 4;
+    private static final float FRAME_TIME = 0.25f;
+    private static final long MAX_RESTART_NANOS = 1_000_000_000L / 60;
+
+    private final Map<String, Integer> runEndings = new HashMap<>();
+    private HeadlessApplication application;
+    private Main main;
+
+    @BeforeEach
+    void startHeadless() {
+        application = new HeadlessApplication(new ApplicationAdapter() {});
+        Gdx.app.setLogLevel(Application.LOG_ERROR);
+        GL20 gl = HeadlessGl.create();
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+        // Quadros longos fazem a partida andar depressa; o toque tira da tela inicial assim que tudo carrega
+        Gdx.graphics = new MockGraphics() {
+            @Override
+            public float getDeltaTime() { return FRAME_TIME; }
+        };
+        Gdx.input = new MockInput() {
+            @Override
+            public boolean isTouched() { return true; }
+        };
+        ShaderProgram.pedantic = false;
+        GameTelemetry.install(countingRunEndings());
+    }
+
+    @AfterEach
+    void stopHeadless() {
+        if (main != null) main.dispose();
+        GameTelemetry.install(null);
+        application.exit();
+    }
+
+    @Test
+    void restartingKeepsResidentTexturesConstant() {
+        // Polícia parada e 25 pontos por quadro: o fundo da fase 2 é pedido no segundo quadro e
+        // a fase muda no quarto; sem reiniciar, a partida termina em vitória
+        ChaseRules rules = new ChaseRules()
+            .setScorePerSecond(100f)
+            .setPoliceInitialSpeed(0f)
+            .setPoliceMaxSpeed(0f);
+        main = new Main(new GameConfig().setChaseRules(rules));
+        main.create();
+        main.resize(1280, 720);
+        for (int frame = 0; frame < MAX_LOADING_FRAMES && !"playing".equals(main.getScreenName()); frame++) {
+            main.render();
+            Thread.yield();
+        }
+        assertEquals("playing", main.getScreenName(), "the game never finished loading");
+
+        TextureRegistry registry = main.getTextureRegistry();
+        BackgroundStreamer backgrounds = main.getBackgroundStreamer();
+        int victories = 0;
+        int baselineCount = -1;
+        long baselineBytes = -1;
+        int baselineBackgrounds = -1;
+        for (int restart = 0; restart < RESTARTS; restart++) {
+            int frames;
+            if (restart % FULL_RUN_EVERY == FULL_RUN_EVERY - 1) frames = FULL_RUN_FRAMES;
+            else if (restart % FULL_RUN_EVERY == FULL_RUN_EVERY / 2) frames = EARLY_RESTART_FRAMES + 1;
+            else frames = restart % EARLY_RESTART_FRAMES;
+            for (int frame = 0; frame < frames && "playing".equals(main.getScreenName()); frame++) {
+                main.render();
+            }
+            if ("victory".equals(main.getScreenName())) victories++;
+            long restartStart = System.nanoTime();
+            main.restartGame();
+            long restartNanos = System.nanoTime() - restartStart;
+            main.render();
+            if (restart % FULL_RUN_EVERY == FULL_RUN_EVERY / 2) {
+                assertTrue(restartNanos < MAX_RESTART_NANOS, "restart " + restart + " after a phase change took "
+                    + (restartNanos / 1_000_000f) + " ms");
+            }
+
+            if (restart == 0) {
+                baselineCount = registry.getResidentCount();
+                baselineBytes = registry.getResidentBytes();
+                baselineBackgrounds = backgrounds.getResidentCount();
+            } else {
+                String at = "after restart " + restart;
+                assertEquals(baselineCount, registry.getResidentCount(), at);
+                assertEquals(baselineBytes, registry.getResidentBytes(), at);
+                assertEquals(baselineBackgrounds, backgrounds.getResidentCount(), at);
+            }
+        }
+        assertEquals(RESTARTS / FULL_RUN_EVERY, victories, "runs that reached the end");
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put(GameTelemetry.RUN_VICTORY, victories);
+        expected.put(GameTelemetry.RUN_RESTART, RESTARTS - victories);
+        assertEquals(expected, runEndings, "run-ended events");
+    }
+
+    /** Conta os eventos de fim de partida por tipo; os outros eventos são ignorados. */
+    private GameTelemetry.Sink countingRunEndings() {
+        return new GameTelemetry.Sink() {
+            @Override public void frameBegin() {}
+            @Override public void frameEnd(long simulationNanos, int simulationSteps, String screen) {}
+            @Override public void phaseChangeBegin() {}
+            @Override public void phaseChangeEnd(int previousPhase, int newPhase, int score) {}
+            @Override public void assetLoadBegin() {}
+            @Override public void assetLoadEnd(String asset, String stage) {}
+            @Override public void runEnded(String outcome, int score, int phase, int ticks) {
+                runEndings.merge(outcome, 1, Integer::sum);
+            }
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package br.mackenzie;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+import br.mackenzie.sim.ChaseRules;
+import br.mackenzie.sim.InputRecording;
+import br.mackenzie.sim.SimulationBatch;
+
+/**
+ * O jogo de verdade, sem janela ({@link HeadlessGame}), e a {@link SimulationBatch} têm de chegar
+ * aos mesmos números a cada passo, inclusive com obstáculos e bônus ligados. Os toques vêm de uma
+ * gravação, refeita pelo mesmo caminho do {@code --replay}.
+ */
+class SimulationParityTest {
+    private static final int SIMULATION_HZ = 60;
+    private static final int WINDOW_WIDTH = 1280;
+    private static final int WINDOW_HEIGHT = 720;
+    private static final float VIEWPORT_WIDTH = 1280f;
+    private static final long WORLD_SEED = 1234L;
+
+    private HeadlessApplication application;
+    private HeadlessGame game;
+
+    @BeforeEach
+    void startHeadless() {
+        application = new HeadlessApplication(new ApplicationAdapter() {});
+        Gdx.app.setLogLevel(Application.LOG_ERROR);
+    }
+
+    @AfterEach
+    void stopHeadless() {
+        if (game != null) game.dispose();
+        Gdx.gl = null;
+        Gdx.gl20 = null;
+        application.exit();
+    }
+
+    @Test
+    void batchGeneratesTheSameItemsAsTheSpawner() {
+        ChaseRules rules = new ChaseRules().setItemsEnabled(true);
+        SimulationBatch batch = new SimulationBatch(rules, 1, SIMULATION_HZ, VIEWPORT_WIDTH);
+        batch.setWorldSeed(WORLD_SEED);
+        ItemSpawner itemSpawner = new ItemSpawner(WORLD_SEED, rules);
+        itemSpawner.reset(VIEWPORT_WIDTH);
+        itemSpawner.update(0f, VIEWPORT_WIDTH);
+
+        // Sem toques o jogador fica parado e o primeiro passo só gera os itens à frente
+        batch.step(null);
+
+        CollisionGrid<Object> grid = new CollisionGrid<>(128f, 64, 32);
+        Array<Object> hits = new Array<>(false, 32);
+        itemSpawner.addToCollisionGrid(grid);
+        grid.query(new Rectangle(0f, 0f, VIEWPORT_WIDTH * 4f, 1000f), hits);
+        int count = batch.getItemCount(0);
+        assertTrue(count > 1, "too few items to compare");
+        assertEquals(count, hits.size);
+
+        float[] spawnerItems = new float[count];
+        float[] batchItems = new float[count];
+        for (int k = 0; k < count; k++) {
+            WorldItem item = (WorldItem) hits.get(k);
+            // O tipo vai no sinal, para a comparação pegar também um bônus trocado por obstáculo
+            spawnerItems[k] = item.getType() == WorldItem.Type.PICKUP ? -item.getX() : item.getX();
+            batchItems[k] = batch.isItemPickup(0, k) ? -batch.getItemX(0, k) : batch.getItemX(0, k);
+        }
+        Arrays.sort(spawnerItems);
+        Arrays.sort(batchItems);
+        assertArrayEquals(spawnerItems, batchItems);
+    }
+
+    @Test
+    void normalRunMatchesTheBatchWithItems() {
+        assertRunsMatch(false, true, 20_000);
+        assertTrue(game.getObstacleHits() > 0, "the run never hit an obstacle");
+        assertTrue(game.getVaultedObstacles() > 0, "the run never vaulted an obstacle");
+        assertTrue(game.getCollectedPickups() > 0, "the run never collected a pickup");
+    }
+
+    @Test
+    void endlessRunMatchesTheBatchAcrossOriginShifts() {
+        // Longa o bastante para a origem do mundo ser deslocada algumas vezes
+        assertRunsMatch(true, true, 12_000);
+        assertTrue(game.getObstacleHits() > 0 && game.getCollectedPickups() > 0, "the run never reached an item");
+    }
+
+    @Test
+    void normalRunMatchesTheBatchWithoutItems() {
+        assertRunsMatch(false, false, 20_000);
+    }
+
+    private void assertRunsMatch(boolean endless, boolean itemsEnabled, int maxTicks) {
+        InputRecording script = new InputRecording(SIMULATION_HZ, WINDOW_WIDTH, WINDOW_HEIGHT, WORLD_SEED,
+            endless, itemsEnabled);
+        for (int tick = 0; tick < maxTicks; tick++) {
+            for (int t = tapsAt(tick); t > 0; t--) script.add(tick, InputRecording.TAP);
+        }
+        script.finish(maxTicks, SimulationBatch.RUNNING, 0);
+
+        GameConfig config = new GameConfig().setReplay(script);
+        game = new HeadlessGame(config, WINDOW_WIDTH, WINDOW_HEIGHT);
+        SimulationBatch batch = new SimulationBatch(config.getChaseRules(), 1, SIMULATION_HZ, VIEWPORT_WIDTH);
+        batch.setWorldSeed(WORLD_SEED);
+        int[] taps = new int[1];
+
+        for (int tick = 0; tick < maxTicks && game.step(); tick++) {
+            taps[0] = tapsAt(tick);
+            batch.step(taps);
+
+            String at = "tick " + tick;
+            assertEquals(tick + 1, game.getTick(), at);
+            assertEquals(game.getPlayerX(), batch.getPlayerX(0), at);
+            assertEquals(game.getPlayerSpeed(), batch.getPlayerSpeed(0), at);
+            assertEquals(game.getPoliceX(), batch.getPoliceX(0), at);
+            assertEquals(game.getCameraX(), batch.getCameraX(0), at);
+            assertEquals(game.getScore(), batch.getScore(0), at);
+            assertEquals(game.getPhase(), batch.getPhase(0), at);
+            assertEquals(game.getStatus(), batch.getStatus(0), at);
+            assertEquals(game.getActiveItemCount(), batch.getItemCount(0), at);
+        }
+        assertTrue(game.getStatus() != SimulationBatch.RUNNING || endless, "the run did not finish");
+    }
+
+    /** Toques ritmados com pausas: umas pausas terminam em cima de um obstáculo, outras não. */
+    private static int tapsAt(int tick) {
+        if (tick % 240 >= 200) return 0;
+        if (tick % 97 == 0) return 2;
+        return tick % 9 == 0 ? 1 : 0;
+    }
+}
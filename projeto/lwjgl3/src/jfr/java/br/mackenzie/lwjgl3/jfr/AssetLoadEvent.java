@@ -0,0 +1,21 @@
+package br.mackenzie.lwjgl3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Uma etapa da carga de uma textura: decodificação, envio à GPU ou as duas juntas. */
+@Name("br.mackenzie.AssetLoad")
+@Label("Asset Load")
+@Category(FlightRecording.CATEGORY)
+@Description("Decoding a texture on a worker thread, uploading it on the render thread, or both at once")
+@StackTrace(false)
+final class AssetLoadEvent extends jdk.jfr.Event {
+    @Label("Asset")
+    String asset;
+
+    @Label("Stage")
+    String stage;
+}
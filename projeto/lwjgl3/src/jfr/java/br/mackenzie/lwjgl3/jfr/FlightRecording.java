@@ -0,0 +1,124 @@
+package br.mackenzie.lwjgl3.jfr;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+import br.mackenzie.GameTelemetry;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+/**
+ * Gravação do Java Flight Recorder iniciada pela opção {@code --jfr}: usa as configurações
+ * {@code profile} do JDK, que incluem GC, alocação e E/S, e transforma a {@link GameTelemetry} em
+ * eventos próprios, para que as pausas apareçam no JDK Mission Control ao lado dos quadros, das
+ * trocas de fase e das cargas de textura em que aconteceram.
+ * <p>
+ * Compilada para Java 11, separada do resto do launcher; o {@code Lwjgl3Launcher} só a carrega
+ * quando a opção é usada. O arquivo é escrito quando o jogo fecha, mesmo por {@code System.exit}.
+ */
+public final class FlightRecording implements GameTelemetry.Sink, AutoCloseable {
+    static final String CATEGORY = "Exercício do Crime";
+    private static final String SETTINGS = "profile";
+
+    private final Recording recording;
+    // Quadros e trocas de fase só acontecem na thread de renderização; cada uma reaproveita o seu evento
+    private final FrameEvent frameEvent = new FrameEvent();
+    private final PhaseChangeEvent phaseChangeEvent = new PhaseChangeEvent();
+    private final ThreadLocal<AssetLoadEvent> assetLoadEvents = new ThreadLocal<>();
+    private long frameStartNanos;
+
+    private FlightRecording(Recording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Começa a gravar em {@code path} e instala os eventos do jogo.
+     *
+     * @return a gravação, ou {@code null} se esta JVM não tem o Flight Recorder
+     */
+    public static FlightRecording start(String path) throws IOException, ParseException {
+        if (!FlightRecorder.isAvailable()) return null;
+        Recording recording = new Recording(Configuration.getConfiguration(SETTINGS));
+        recording.setName(CATEGORY);
+        recording.setToDisk(true);
+        recording.setDestination(Paths.get(path));
+        recording.setDumpOnExit(true);
+        recording.start();
+
+        FlightRecording flightRecording = new FlightRecording(recording);
+        GameTelemetry.install(flightRecording);
+        return flightRecording;
+    }
+
+    /** Desinstala os eventos e escreve o arquivo. */
+    @Override
+    public void close() {
+        GameTelemetry.install(null);
+        recording.stop();
+        recording.close();
+    }
+
+    @Override
+    public void frameBegin() {
+        frameStartNanos = System.nanoTime();
+        frameEvent.begin();
+    }
+
+    @Override
+    public void frameEnd(long simulationNanos, int simulationSteps, String screen) {
+        frameEvent.end();
+        if (!frameEvent.shouldCommit()) return;
+        frameEvent.simulationTime = simulationNanos;
+        frameEvent.renderTime = System.nanoTime() - frameStartNanos - simulationNanos;
+        frameEvent.simulationSteps = simulationSteps;
+        frameEvent.screen = screen;
+        frameEvent.commit();
+    }
+
+    @Override
+    public void phaseChangeBegin() {
+        phaseChangeEvent.begin();
+    }
+
+    @Override
+    public void phaseChangeEnd(int previousPhase, int newPhase, int score) {
+        phaseChangeEvent.end();
+        if (!phaseChangeEvent.shouldCommit()) return;
+        phaseChangeEvent.previousPhase = previousPhase;
+        phaseChangeEvent.newPhase = newPhase;
+        phaseChangeEvent.score = score;
+        phaseChangeEvent.commit();
+    }
+
+    @Override
+    public void assetLoadBegin() {
+        AssetLoadEvent event = new AssetLoadEvent();
+        assetLoadEvents.set(event);
+        event.begin();
+    }
+
+    @Override
+    public void assetLoadEnd(String asset, String stage) {
+        AssetLoadEvent event = assetLoadEvents.get();
+        if (event == null) return;
+        assetLoadEvents.remove();
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.asset = asset;
+        event.stage = stage;
+        event.commit();
+    }
+
+    @Override
+    public void runEnded(String outcome, int score, int phase, int ticks) {
+        RunEndEvent event = new RunEndEvent();
+        if (!event.shouldCommit()) return;
+        event.outcome = outcome;
+        event.score = score;
+        event.phase = phase;
+        event.ticks = ticks;
+        event.commit();
+    }
+}
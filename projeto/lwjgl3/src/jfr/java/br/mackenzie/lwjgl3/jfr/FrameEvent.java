@@ -0,0 +1,32 @@
+package br.mackenzie.lwjgl3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** Um quadro inteiro do {@code render()}; a duração do evento é a do quadro. */
+@Name("br.mackenzie.Frame")
+@Label("Frame")
+@Category(FlightRecording.CATEGORY)
+@Description("One call to render(), split into fixed simulation steps and everything else")
+@StackTrace(false)
+final class FrameEvent extends jdk.jfr.Event {
+    @Label("Simulation Time")
+    @Description("Time spent in the fixed simulation steps of this frame")
+    @Timespan(Timespan.NANOSECONDS)
+    long simulationTime;
+
+    @Label("Render Time")
+    @Description("Rest of the frame: drawing, input, streaming and overlays")
+    @Timespan(Timespan.NANOSECONDS)
+    long renderTime;
+
+    @Label("Simulation Steps")
+    int simulationSteps;
+
+    @Label("Screen")
+    String screen;
+}
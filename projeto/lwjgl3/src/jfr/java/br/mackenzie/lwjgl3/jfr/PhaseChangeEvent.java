@@ -0,0 +1,24 @@
+package br.mackenzie.lwjgl3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Uma troca de fase, com a troca do fundo e o reposicionamento das entidades. */
+@Name("br.mackenzie.PhaseChange")
+@Label("Phase Change")
+@Category(FlightRecording.CATEGORY)
+@Description("Main.changePhase(), including the background swap")
+@StackTrace(false)
+final class PhaseChangeEvent extends jdk.jfr.Event {
+    @Label("Previous Phase")
+    int previousPhase;
+
+    @Label("New Phase")
+    int newPhase;
+
+    @Label("Score")
+    int score;
+}
@@ -0,0 +1,28 @@
+package br.mackenzie.lwjgl3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** O fim de uma partida: captura, vitória, reinício ou saída no meio. */
+@Name("br.mackenzie.RunEnd")
+@Label("Run End")
+@Category(FlightRecording.CATEGORY)
+@Description("A run ending in game over or victory, being restarted, or being abandoned")
+@StackTrace(false)
+final class RunEndEvent extends jdk.jfr.Event {
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Score")
+    int score;
+
+    @Label("Phase")
+    int phase;
+
+    @Label("Ticks")
+    @Description("Fixed simulation steps played in the run")
+    int ticks;
+}
@@ -0,0 +1,155 @@
+package br.mackenzie.lwjgl3;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Arquivo de AppCDS (class-data sharing) do jogo: as classes do jogo, do libGDX e do LWJGL já
+ * analisadas e verificadas pela JVM, mapeadas direto da memória nas partidas seguintes.
+ * <p>
+ * As opções da JVM normalmente vêm de quem a inicia: os scripts de {@code installDist} e o
+ * executável do Construo já passam {@code -XX:SharedArchiveFile} e, do Java 19 em diante,
+ * {@code -XX:+AutoCreateSharedArchive}. Reiniciar a JVM só para isso custaria mais que o arquivo
+ * economiza, então esta classe só entra quando o {@link StartupHelper} já vai reiniciá-la por
+ * outro motivo, no macOS sem {@code -XstartOnFirstThread}.
+ * <p>
+ * Um arquivo dinâmico só vale para o caminho exato do jar e para a mesma JVM que o gerou, então
+ * ele não pode vir pronto no pacote. Na primeira execução de cada instalação a JVM reiniciada
+ * recebe {@code -XX:ArchiveClassesAtExit}, e o arquivo é gravado quando o jogo fecha; nas
+ * seguintes, {@code -XX:SharedArchiveFile}. O arquivo fica na pasta de cache do usuário, com um
+ * nome derivado do classpath e da JVM: mover a instalação ou trocar de JVM gera um arquivo novo
+ * em vez de usar um inválido.
+ */
+final class AppCds {
+    static final String DISABLE_ARG = "--no-cds";
+
+    private static final String CACHE_NAME = "ExercicioDoCrime";
+    private static final String SHARED_ARCHIVE_OPTION = "-XX:SharedArchiveFile=";
+    private static final String ARCHIVE_AT_EXIT_OPTION = "-XX:ArchiveClassesAtExit=";
+    private static final String AUTO_CREATE_OPTION = "-XX:+AutoCreateSharedArchive";
+    private static final String PENDING_SUFFIX = ".pending";
+
+    private AppCds() {}
+
+    /** Se uma JVM reiniciada deve usar ou gerar o arquivo; falso se esta já foi iniciada com um. */
+    static boolean shouldUseArchive(String[] args) {
+        for (String arg : args) {
+            if (arg.equals(DISABLE_ARG)) return false;
+        }
+        return describeCurrentJvm().equals("off") && getArchiveFile() != null;
+    }
+
+    /** Opções da JVM para a próxima execução: usar o arquivo se ele existe, senão gerá-lo ao sair. */
+    static List<String> jvmArguments() {
+        List<String> arguments = new ArrayList<>();
+        File archive = getArchiveFile();
+        if (archive == null) return arguments;
+        if (archive.isFile()) {
+            arguments.add(SHARED_ARCHIVE_OPTION + archive.getPath());
+            arguments.add("-Xshare:auto"); // Um arquivo recusado só desliga o compartilhamento, não impede a partida
+        } else {
+            arguments.add(ARCHIVE_AT_EXIT_OPTION + pendingFile(archive).getPath());
+        }
+        return arguments;
+    }
+
+    /**
+     * Chamado pela JVM que reiniciou o jogo, depois que a nova terminou. O arquivo gerado ao sair
+     * só passa a ser usado se o jogo fechou normalmente, então uma gravação interrompida nunca é
+     * mapeada; arquivos de outros classpaths ou JVMs são apagados.
+     */
+    static void publishPendingArchive(int exitCode) {
+        File archive = getArchiveFile();
+        if (archive == null) return;
+        File pending = pendingFile(archive);
+        if (!pending.isFile()) return;
+        if (exitCode != 0 || !pending.renameTo(archive)) {
+            pending.delete();
+            return;
+        }
+        File[] siblings = archive.getParentFile().listFiles();
+        if (siblings == null) return;
+        for (File sibling : siblings) {
+            if (!sibling.equals(archive) && sibling.getName().endsWith(".jsa")) sibling.delete();
+        }
+    }
+
+    /** "auto", "using", "training" ou "off", conforme as opções com que esta JVM foi iniciada. */
+    static String describeCurrentJvm() {
+        String state = "off";
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.equals(AUTO_CREATE_OPTION)) return "auto";
+            if (argument.startsWith(SHARED_ARCHIVE_OPTION)) state = "using";
+            else if (argument.startsWith(ARCHIVE_AT_EXIT_OPTION)) state = "training";
+        }
+        return state;
+    }
+
+    /** Onde fica o arquivo desta instalação, ou {@code null} se esta JVM ou classpath não o permitem. */
+    private static File getArchiveFile() {
+        if (!isSupportedJvm()) return null;
+
+        // Pastas no classpath, como ao rodar pela IDE, impedem a JVM de gravar o arquivo
+        CRC32 key = new CRC32();
+        String classPath = System.getProperty("java.class.path", "");
+        if (classPath.isEmpty()) return null;
+        for (String entry : classPath.split(File.pathSeparator)) {
+            File file = new File(entry);
+            if (!file.isFile()) return null;
+            update(key, file.getAbsolutePath() + '|' + file.length() + '|' + file.lastModified());
+        }
+        update(key, System.getProperty("java.home") + '|' + System.getProperty("java.vm.version"));
+
+        File directory = getCacheDirectory();
+        if (directory == null || !(directory.isDirectory() || directory.mkdirs())) return null;
+        return new File(directory, Long.toHexString(key.getValue()) + ".jsa");
+    }
+
+    /** Arquivos dinâmicos existem a partir do Java 13, só na HotSpot e só sobre o arquivo base da JDK. */
+    private static boolean isSupportedJvm() {
+        if (!System.getProperty("org.graalvm.nativeimage.imagecode", "").isEmpty()) return false;
+        String vmName = System.getProperty("java.vm.name", "");
+        if (!vmName.contains("HotSpot") && !vmName.contains("OpenJDK")) return false;
+        String version = System.getProperty("java.specification.version", "");
+        if (version.startsWith("1.")) return false;
+        try {
+            if (Integer.parseInt(version) < 13) return false;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        // Runtimes gerados pelo jlink nem sempre incluem o arquivo base
+        File javaHome = new File(System.getProperty("java.home"));
+        return new File(javaHome, "lib/server/classes.jsa").isFile() || new File(javaHome, "bin/server/classes.jsa").isFile();
+    }
+
+    private static File getCacheDirectory() {
+        String os = System.getProperty("os.name", "").toLowerCase();
+        String home = System.getProperty("user.home");
+        File base;
+        if (os.contains("windows")) {
+            String localAppData = System.getenv("LOCALAPPDATA");
+            base = localAppData != null ? new File(localAppData) : null;
+        } else if (os.contains("mac")) {
+            base = home != null ? new File(home, "Library/Caches") : null;
+        } else {
+            String xdgCache = System.getenv("XDG_CACHE_HOME");
+            base = xdgCache != null ? new File(xdgCache) : home != null ? new File(home, ".cache") : null;
+        }
+        return base == null ? null : new File(new File(base, CACHE_NAME), "cds");
+    }
+
+    private static File pendingFile(File archive) {
+        return new File(archive.getPath() + PENDING_SUFFIX);
+    }
+
+    private static void update(CRC32 crc, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            crc.update(c >>> 8);
+            crc.update(c);
+        }
+    }
+}
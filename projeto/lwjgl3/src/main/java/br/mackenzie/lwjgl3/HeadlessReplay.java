@@ -0,0 +1,85 @@
+package br.mackenzie.lwjgl3;
+
+import java.io.File;
+import java.util.Arrays;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+
+import br.mackenzie.GameConfig;
+import br.mackenzie.HeadlessGame;
+import br.mackenzie.sim.ChaseRules;
+import br.mackenzie.sim.InputRecording;
+import br.mackenzie.sim.SimulationBatch;
+
+/**
+ * Refaz partidas gravadas com {@code --record} sem abrir janela ({@code --replay-headless=}).
+ * Cada gravação roda no jogo de verdade, pelo {@link HeadlessGame}, o mesmo caminho do
+ * {@code --replay}. Aceita um arquivo ou uma pasta de gravações e informa quais terminaram
+ * diferente do gravado, o que serve de teste de regressão ao mexer nas constantes de {@link ChaseRules}.
+ */
+final class HeadlessReplay {
+    /** Passos extras depois do fim da gravação; com outras regras a partida pode durar mais. */
+    private static final int EXTRA_SECONDS = 600;
+
+    private HeadlessReplay() {}
+
+    /** @return código de saída: 0 se todas as partidas se repetiram, 1 caso contrário */
+    static int run(File path) {
+        File[] files = path.isDirectory() ? path.listFiles(File::isFile) : new File[] {path};
+        if (files == null || files.length == 0) {
+            System.err.println("No input recordings found in " + path);
+            return 1;
+        }
+        Arrays.sort(files);
+
+        HeadlessApplication application = new HeadlessApplication(new ApplicationAdapter() {});
+        Gdx.app.setLogLevel(Application.LOG_ERROR);
+        int mismatches = 0;
+        long totalTicks = 0;
+        long start = System.nanoTime();
+        try {
+            for (File file : files) {
+                InputRecording recording = Lwjgl3Launcher.readRecording(file);
+                HeadlessGame game = new HeadlessGame(new GameConfig().setReplay(recording),
+                    (int) recording.getViewportWidth(), (int) recording.getViewportHeight());
+                try {
+                    // Uma partida abandonada termina no passo em que foi gravada
+                    int maxTicks = recording.getOutcome() == SimulationBatch.RUNNING ? recording.getTickCount()
+                        : recording.getTickCount() + recording.getSimulationHz() * EXTRA_SECONDS;
+                    while (game.getTick() < maxTicks && game.step()) {
+                        // Um passo por volta; o jogo para sozinho quando a partida termina
+                    }
+                    totalTicks += game.getTick();
+
+                    boolean matches = game.getStatus() == recording.getOutcome()
+                        && game.getTick() == recording.getTickCount() && game.getScore() == recording.getFinalScore();
+                    if (!matches) mismatches++;
+                    System.out.println(file.getName() + ": recorded " + describe(recording.getOutcome())
+                        + " at tick " + recording.getTickCount() + " with score " + recording.getFinalScore()
+                        + ", replayed " + describe(game.getStatus()) + " at tick " + game.getTick()
+                        + " with score " + game.getScore() + " in phase " + (game.getPhase() + 1)
+                        + (matches ? "" : "  <-- MISMATCH"));
+                } finally {
+                    game.dispose();
+                }
+            }
+        } finally {
+            application.exit();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(files.length + " runs, " + mismatches + " mismatches, " + totalTicks + " ticks in "
+            + String.format("%.3f", seconds) + " s");
+        return mismatches == 0 ? 0 : 1;
+    }
+
+    private static String describe(byte status) {
+        switch (status) {
+            case SimulationBatch.CAUGHT: return "caught";
+            case SimulationBatch.ESCAPED: return "escaped";
+            default: return "abandoned";
+        }
+    }
+}
@@ -1,19 +1,149 @@
 package br.mackenzie.lwjgl3;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 
+import br.mackenzie.GameConfig;
 import br.mackenzie.Main;
+import br.mackenzie.StartupTimeline;
+import br.mackenzie.sim.InputRecording;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
+    private static final int IDLE_FPS = 30;
+    private static final String SIMULATION_HZ_ARG = "--sim-hz=";
+    private static final String RECORD_ARG = "--record=";
+    private static final String REPLAY_ARG = "--replay=";
+    private static final String REPLAY_HEADLESS_ARG = "--replay-headless=";
+    private static final String ENDLESS_ARG = "--endless";
+    private static final String ITEMS_ARG = "--items";
+    private static final String CROWD_ARG = "--crowd=";
+    private static final String PROFILE_ARG = "--profile=";
+    private static final String STARTUP_PROBE_ARG = "--startup-probe";
+    private static final String JFR_ARG = "--jfr";
+    private static final String FLIGHT_RECORDING_CLASS = "br.mackenzie.lwjgl3.jfr.FlightRecording";
+
     public static void main(String[] args) {
-        if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        StartupTimeline.markMain();
+        for (String arg : args) {
+            if (arg.startsWith(REPLAY_HEADLESS_ARG)) {
+                // Não abre janela: refaz as partidas gravadas e termina
+                System.exit(HeadlessReplay.run(new File(arg.substring(REPLAY_HEADLESS_ARG.length()))));
+            }
+        }
+        if (StartupHelper.startNewJvmIfRequired(args)) return; // This handles macOS support and helps on Windows.
+        StartupTimeline.setNote("cds=" + AppCds.describeCurrentJvm());
+        AutoCloseable flightRecording = startFlightRecording(args);
+        try {
+            createApplication(parseGameConfig(args), hasArg(args, STARTUP_PROBE_ARG));
+        } finally {
+            closeQuietly(flightRecording);
+        }
+    }
+
+    /**
+     * Com {@code --jfr} ou {@code --jfr=<arquivo>}, grava um Java Flight Recording com os eventos do
+     * jogo até ele fechar. A classe da gravação é compilada para Java 11 e só é carregada aqui, por
+     * reflexão; numa JVM sem o Flight Recorder o jogo roda sem gravar.
+     */
+    private static AutoCloseable startFlightRecording(String[] args) {
+        String path = null;
+        for (String arg : args) {
+            if (arg.equals(JFR_ARG)) {
+                path = "game-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".jfr";
+            } else if (arg.startsWith(JFR_ARG + "=")) {
+                path = arg.substring(JFR_ARG.length() + 1);
+            }
+        }
+        if (path == null) return null;
+
+        try {
+            Object recording = Class.forName(FLIGHT_RECORDING_CLASS).getMethod("start", String.class).invoke(null, path);
+            if (recording == null) {
+                System.err.println("This JVM has no Flight Recorder; " + JFR_ARG + " is ignored.");
+                return null;
+            }
+            System.out.println("Recording Flight Recorder events to " + new File(path).getAbsolutePath());
+            return (AutoCloseable) recording;
+        } catch (ClassNotFoundException | LinkageError e) {
+            System.err.println("Flight Recorder events need Java 11 or newer; " + JFR_ARG + " is ignored.");
+        } catch (InvocationTargetException e) {
+            System.err.println("Could not start the flight recording: " + e.getCause());
+        } catch (ReflectiveOperationException e) {
+            System.err.println("Could not start the flight recording: " + e);
+        }
+        return null;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            System.err.println("Could not finish the flight recording: " + e);
+        }
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new Main(), getDefaultConfiguration());
+    private static boolean hasArg(String[] args, String wanted) {
+        for (String arg : args) {
+            if (arg.equals(wanted)) return true;
+        }
+        return false;
+    }
+
+    private static Lwjgl3Application createApplication(GameConfig gameConfig, boolean startupProbe) {
+        Lwjgl3ApplicationConfiguration configuration = getDefaultConfiguration();
+        InputRecording replay = gameConfig.getReplay();
+        if (replay != null) {
+            // A largura do mundo faz parte da simulação; com a janela do tamanho gravado ela se repete
+            configuration.setWindowedMode((int) replay.getViewportWidth(), (int) replay.getViewportHeight());
+            configuration.setResizable(false);
+        }
+        ApplicationListener game = new Main(gameConfig);
+        if (startupProbe) game = new StartupProbe(game);
+        return new Lwjgl3Application(game, configuration);
+    }
+
+    private static GameConfig parseGameConfig(String[] args) {
+        GameConfig gameConfig = new GameConfig();
+        for (String arg : args) {
+            if (arg.startsWith(SIMULATION_HZ_ARG)) {
+                gameConfig.setSimulationHz(Integer.parseInt(arg.substring(SIMULATION_HZ_ARG.length())));
+            } else if (arg.startsWith(RECORD_ARG)) {
+                gameConfig.setRecordPath(arg.substring(RECORD_ARG.length()));
+            } else if (arg.startsWith(REPLAY_ARG)) {
+                gameConfig.setReplay(readRecording(new File(arg.substring(REPLAY_ARG.length()))));
+            } else if (arg.equals(ENDLESS_ARG)) {
+                gameConfig.getChaseRules().setEndless(true);
+            } else if (arg.equals(ITEMS_ARG)) {
+                gameConfig.getChaseRules().setItemsEnabled(true);
+            } else if (arg.startsWith(CROWD_ARG)) {
+                gameConfig.setCrowdSize(Integer.parseInt(arg.substring(CROWD_ARG.length())));
+            } else if (arg.startsWith(PROFILE_ARG)) {
+                gameConfig.setProfile(arg.substring(PROFILE_ARG.length()));
+            }
+        }
+        // O modo da gravação prevalece sobre o da linha de comando
+        InputRecording replay = gameConfig.getReplay();
+        if (replay != null) gameConfig.getChaseRules().setEndless(replay.isEndless()).setItemsEnabled(replay.isItemsEnabled());
+        return gameConfig;
+    }
+
+    static InputRecording readRecording(File file) {
+        try (InputStream input = new FileInputStream(file)) {
+            return InputRecording.read(input);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read input recording " + file, e);
+        }
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
@@ -29,6 +159,12 @@ public class Lwjgl3Launcher {
         //// useful for testing performance, but can also be very stressful to some hardware.
         //// You may also need to configure GPU drivers to fully disable Vsync; this can cause screen tearing.
 
+        // Minimizada ou sem foco, a janela pausa o jogo e para de desenhar. Nas telas paradas o jogo só
+        // desenha quando algo muda; entre um quadro e outro o laço verifica a entrada IDLE_FPS vezes por segundo.
+        configuration.setPauseWhenMinimized(true);
+        configuration.setPauseWhenLostFocus(true);
+        configuration.setIdleFPS(IDLE_FPS);
+
         configuration.setWindowedMode(1280, 720);
         //// You can change these files; they are in lwjgl3/src/main/resources/ .
         //// They can also be loaded from the root of assets/ .
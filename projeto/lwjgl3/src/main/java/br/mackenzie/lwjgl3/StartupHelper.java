@@ -21,11 +21,15 @@ import com.badlogic.gdx.backends.lwjgl3.Lwjgl3NativesLoader;
 import org.lwjgl.system.macosx.LibC;
 import org.lwjgl.system.macosx.ObjCRuntime;
 
+import br.mackenzie.StartupTimeline;
+
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.InputStreamReader;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.lwjgl.system.JNI.invokePPP;
 import static org.lwjgl.system.JNI.invokePPZ;
@@ -36,7 +40,9 @@ import static org.lwjgl.system.macosx.ObjCRuntime.sel_getUid;
  * Adds some utilities to ensure that the JVM was started with the
  * {@code -XstartOnFirstThread} argument, which is required on macOS for LWJGL 3
  * to function. Also helps on Windows when users have names with characters from
- * outside the Latin alphabet, a common cause of startup crashes.
+ * outside the Latin alphabet, a common cause of startup crashes. A macOS
+ * restart also picks up the game's {@link AppCds} archive; other platforms get
+ * it from the launch scripts and are never restarted for it.
  * <br>
  * <a href="https://jvm-gaming.org/t/starting-jvm-on-mac-with-xstartonfirstthread-programmatically/57547">Based on this java-gaming.org post by kappa</a>
  * @author damios
@@ -55,17 +61,20 @@ public class StartupHelper {
      * Windows, for the case where the user's home directory includes certain
      * non-Latin-alphabet characters (without this code, most LWJGL3 apps fail
      * immediately for those users). Returns whether a new JVM was started and
-     * thus no code should be executed.
+     * thus no code should be executed. When a macOS restart happens anyway, the
+     * new JVM also gets the game's class-data sharing archive; see {@link AppCds}.
      * <p>
      * <u>Usage:</u>
      *
      * <pre><code>
      * public static void main(String... args) {
-     * 	if (StartupHelper.startNewJvmIfRequired(true)) return; // This handles macOS support and helps on Windows.
+     * 	if (StartupHelper.startNewJvmIfRequired(args, true)) return; // This handles macOS support and helps on Windows.
      * 	// after this is the actual main method code
      * }
      * </code></pre>
      *
+     * @param args
+     *            the program arguments, passed on to the new JVM
      * @param redirectOutput
      *            whether the output of the new JVM should be rerouted to the
      *            old JVM, so it can be accessed in the same place; keeps the
@@ -73,7 +82,7 @@ public class StartupHelper {
      * @return whether a new JVM was started and thus no code should be executed
      *         in this one
      */
-    public static boolean startNewJvmIfRequired(boolean redirectOutput) {
+    public static boolean startNewJvmIfRequired(String[] args, boolean redirectOutput) {
         String osName = System.getProperty("os.name").toLowerCase();
         if (!osName.contains("mac")) {
             if (osName.contains("windows")) {
@@ -106,24 +115,33 @@ public class StartupHelper {
         long NSThread      = objc_getClass("NSThread");
         long currentThread = invokePPP(NSThread, sel_getUid("currentThread"), objc_msgSend);
         boolean isMainThread = invokePPZ(currentThread, sel_getUid("isMainThread"), objc_msgSend);
-        if(isMainThread) return false;
 
         long pid = LibC.getpid();
 
         // check whether -XstartOnFirstThread is enabled
-        if ("1".equals(System.getenv("JAVA_STARTED_ON_FIRST_THREAD_" + pid))) {
-            return false;
-        }
+        boolean onFirstThread = isMainThread || "1".equals(System.getenv("JAVA_STARTED_ON_FIRST_THREAD_" + pid));
+        if (onFirstThread) return false;
 
         // check whether the JVM was previously restarted
         // avoids looping, but most certainly leads to a crash
-        if ("true".equals(System.getProperty(JVM_RESTARTED_ARG))) {
+        if (!onFirstThread && "true".equals(System.getProperty(JVM_RESTARTED_ARG))) {
             System.err.println(
                     "There was a problem evaluating whether the JVM was started with the -XstartOnFirstThread argument.");
             return false;
         }
 
         // Restart the JVM with -XstartOnFirstThread
+        List<String> extraJvmArgs = new ArrayList<>();
+        extraJvmArgs.add("-XstartOnFirstThread");
+        if (AppCds.shouldUseArchive(args)) extraJvmArgs.addAll(AppCds.jvmArguments());
+        return restartJvm(args, extraJvmArgs, System.getenv("JAVA_MAIN_CLASS_" + pid), redirectOutput);
+    }
+
+    /**
+     * Starts the same main class in a new JVM with the given extra JVM arguments and the
+     * same program arguments. Returns whether the new JVM was started.
+     */
+    private static boolean restartJvm(String[] args, List<String> extraJvmArgs, String mainClass, boolean redirectOutput) {
         ArrayList<String> jvmArgs = new ArrayList<>();
         String separator = System.getProperty("file.separator", "/");
         // The following line is used assuming you target Java 8, the minimum for LWJGL3.
@@ -138,12 +156,13 @@ public class StartupHelper {
         }
 
         jvmArgs.add(javaExecPath);
-        jvmArgs.add("-XstartOnFirstThread");
+        jvmArgs.addAll(extraJvmArgs);
         jvmArgs.add("-D" + JVM_RESTARTED_ARG + "=true");
+        // The new JVM's startup timeline also counts the time this one took to get here
+        jvmArgs.add("-D" + StartupTimeline.PARENT_JVM_MILLIS_PROPERTY + "=" + ManagementFactory.getRuntimeMXBean().getUptime());
         jvmArgs.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
         jvmArgs.add("-cp");
         jvmArgs.add(System.getProperty("java.class.path"));
-        String mainClass = System.getenv("JAVA_MAIN_CLASS_" + pid);
         if (mainClass == null) {
             StackTraceElement[] trace = Thread.currentThread().getStackTrace();
             if (trace.length > 0) {
@@ -154,6 +173,7 @@ public class StartupHelper {
             }
         }
         jvmArgs.add(mainClass);
+        jvmArgs.addAll(Arrays.asList(args));
 
         try {
             if (!redirectOutput) {
@@ -171,6 +191,7 @@ public class StartupHelper {
                 }
 
                 process.waitFor();
+                AppCds.publishPendingArchive(process.exitValue());
             }
         } catch (Exception e) {
             System.err.println("There was a problem restarting the JVM");
@@ -190,15 +211,17 @@ public class StartupHelper {
      *
      * <pre>
      * public static void main(String... args) {
-     * 	if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
+     * 	if (StartupHelper.startNewJvmIfRequired(args)) return; // This handles macOS support and helps on Windows.
      * 	// the actual main method code
      * }
      * </pre>
      *
+     * @param args
+     *            the program arguments, passed on to the new JVM
      * @return whether a new JVM was started and thus no code should be executed
      *         in this one
      */
-    public static boolean startNewJvmIfRequired() {
-        return startNewJvmIfRequired(true);
+    public static boolean startNewJvmIfRequired(String[] args) {
+        return startNewJvmIfRequired(args, true);
     }
 }
\ No newline at end of file
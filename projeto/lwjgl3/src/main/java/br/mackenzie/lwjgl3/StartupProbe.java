@@ -0,0 +1,91 @@
+package br.mackenzie.lwjgl3;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+
+import br.mackenzie.StartupTimeline;
+
+/**
+ * Mede a partida do jogo para a tarefa {@code startupBenchmark}: espera o primeiro quadro
+ * chegar à GPU, imprime uma linha {@value #REPORT_PREFIX} com o instante, o tempo desde o
+ * {@code main} e a memória residente do processo, e fecha o jogo. O tempo desde o início do
+ * processo, que inclui a inicialização da JVM, é calculado por quem lançou o jogo a partir do
+ * instante impresso.
+ */
+public class StartupProbe implements ApplicationListener {
+    static final String REPORT_PREFIX = "STARTUP";
+    private static final File PROC_STATUS = new File("/proc/self/status");
+
+    private final ApplicationListener game;
+    private boolean reported;
+
+    public StartupProbe(ApplicationListener game) {
+        this.game = game;
+    }
+
+    @Override
+    public void create() {
+        game.create();
+    }
+
+    @Override
+    public void render() {
+        game.render();
+        if (reported) return;
+        reported = true;
+
+        // Só conta quando a GPU terminou o quadro, não quando os comandos foram enfileirados
+        Gdx.gl.glFinish();
+        long firstFrameMillis = System.currentTimeMillis();
+        long sinceMainMillis = StartupTimeline.getMillisSinceMain();
+        boolean nativeImage = !System.getProperty("org.graalvm.nativeimage.imagecode", "").isEmpty();
+        System.out.println(REPORT_PREFIX + " first_frame_epoch_ms=" + firstFrameMillis
+            + " since_main_ms=" + sinceMainMillis
+            + " rss_kib=" + readProcStatusKib("VmRSS:")
+            + " peak_rss_kib=" + readProcStatusKib("VmHWM:")
+            + " runtime=" + (nativeImage ? "native" : "jvm"));
+        System.out.flush();
+        Gdx.app.exit();
+    }
+
+    /** Lê um campo de memória de {@code /proc/self/status}; -1 fora do Linux. */
+    private static long readProcStatusKib(String field) {
+        if (!PROC_STATUS.canRead()) return -1;
+        try (BufferedReader reader = new BufferedReader(new FileReader(PROC_STATUS))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(field)) {
+                    return Long.parseLong(line.substring(field.length()).trim().split("\\s+")[0]);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        game.resize(width, height);
+    }
+
+    @Override
+    public void pause() {
+        game.pause();
+    }
+
+    @Override
+    public void resume() {
+        game.resume();
+    }
+
+    @Override
+    public void dispose() {
+        game.dispose();
+    }
+}
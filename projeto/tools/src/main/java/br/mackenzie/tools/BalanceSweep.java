@@ -0,0 +1,424 @@
+package br.mackenzie.tools;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import br.mackenzie.sim.ChaseRules;
+import br.mackenzie.sim.SimulationBatch;
+
+/**
+ * Varredura de balanceamento: simula muitas partidas, sem janela, para cada combinação de
+ * constantes de {@link ChaseRules} e de {@link BotPolicy}, e informa a taxa de vitória, a
+ * distribuição da pontuação em que o jogador foi pego e a da fase alcançada.
+ * <p>
+ * Cada opção de eixo recebe uma lista de valores separados por vírgula, e todas as combinações
+ * são simuladas; as fases usam {@code /} entre uma fase e outra:
+ * <pre>
+ * --police-acceleration=30,40,50 --phase-speeds=1/1.2/1.38,1/1.3/1.5 --bot=steady:4,reactive:150
+ * </pre>
+ * As partidas de cada combinação são divididas em lotes de {@link #BATCH_SIZE}, e os lotes de
+ * todas as combinações rodam juntos num {@link ForkJoinPool} com uma thread por núcleo. O lote
+ * {@code n} de toda combinação usa a mesma semente, então as combinações são comparadas com os
+ * mesmos jogadores simulados e a mesma execução sempre dá o mesmo resultado.
+ * <p>
+ * Obstáculos e bônus ficam desligados, como no jogo; {@code --items} os liga, gerados a partir de
+ * {@code --world-seed} como no jogo. Os bots não miram os obstáculos: só os pulam quando um toque
+ * cai por acaso logo antes de um, então com itens o resultado é o de um jogador que não olha a pista.
+ */
+public final class BalanceSweep {
+    private static final int BATCH_SIZE = 1024;
+    private static final int DEFAULT_GAMES = 20000;
+    private static final int DEFAULT_SIMULATION_HZ = 60;
+    private static final float DEFAULT_VIEWPORT_WIDTH = 1280f;
+    private static final int DEFAULT_MAX_SECONDS = 600;
+    private static final String DEFAULT_BOT = "steady:4";
+
+    /** Eixos aceitos, na ordem em que aparecem na saída. */
+    private static final String[] AXES = {
+        "player-tap", "player-max-speed", "player-deceleration",
+        "police-initial-speed", "police-acceleration", "police-max-speed",
+        "catch-up", "catch-up-step", "catch-up-min",
+        "phase-speeds", "phase-thresholds", "victory-score"
+    };
+
+    private BalanceSweep() {}
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /** @return código de saída: 0 se a varredura terminou, 2 se as opções são inválidas */
+    static int run(String[] args) {
+        Options options;
+        List<ParameterSet> sets;
+        try {
+            options = Options.parse(args);
+            sets = options.expand();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Axes: --" + String.join(", --", AXES) + ", --bot");
+            System.err.println("Settings: --games, --seed, --sim-hz, --viewport, --max-seconds, --threads, --endless, --items, --world-seed, --csv");
+            return 2;
+        }
+
+        List<Unit> units = new ArrayList<>();
+        for (ParameterSet set : sets) {
+            for (int first = 0, chunk = 0; first < options.games; first += BATCH_SIZE, chunk++) {
+                units.add(new Unit(set, Math.min(BATCH_SIZE, options.games - first), mix(options.seed, chunk)));
+            }
+        }
+        System.out.println("Simulating " + sets.size() + " parameter sets x " + options.games + " games on "
+            + options.threads + " threads, " + describeItems(options) + "...");
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(options.threads);
+        try {
+            pool.invoke(new SweepTask(units, 0, units.size(), options));
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (int i = 0; i < sets.size(); i++) {
+            printSet(i, sets.size(), sets.get(i), options.simulationHz);
+        }
+        long totalGames = (long) sets.size() * options.games;
+        System.out.println(String.format(Locale.ROOT, "Simulated %d games in %.1f s (%.0f games/s)",
+            totalGames, seconds, totalGames / seconds));
+
+        if (options.csvPath != null) {
+            try {
+                writeCsv(options, sets);
+                System.out.println("Wrote " + options.csvPath);
+            } catch (IOException e) {
+                System.err.println("Could not write " + options.csvPath + ": " + e.getMessage());
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    private static String describeItems(Options options) {
+        if (!options.items) return "without obstacles or pickups (pass --items to include them)";
+        return "with obstacles and pickups from world seed " + options.worldSeed + " (bots do not aim their taps at obstacles)";
+    }
+
+    /** Sementes bem espalhadas a partir da semente da varredura e do número do lote (SplitMix64). */
+    private static long mix(long seed, int chunk) {
+        long z = seed + (chunk + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+
+    // === SIMULAÇÃO ===
+
+    /** Um lote de partidas de uma combinação. */
+    private static final class Unit {
+        final ParameterSet set;
+        final int games;
+        final long seed;
+
+        Unit(ParameterSet set, int games, long seed) {
+            this.set = set;
+            this.games = games;
+            this.seed = seed;
+        }
+
+        void run(Options options) {
+            SimulationBatch batch = new SimulationBatch(set.rules, games, options.simulationHz, options.viewportWidth);
+            batch.setWorldSeed(options.worldSeed);
+            batch.runToEnd(options.maxSeconds * options.simulationHz, set.bot.create(games, seed, options.simulationHz));
+            OutcomeStats partial = set.newStats(options);
+            partial.addBatch(batch);
+            set.stats.merge(partial);
+        }
+    }
+
+    /** Divide os lotes ao meio até sobrar um por tarefa; cada lote já leva milissegundos. */
+    private static final class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Unit> units;
+        private final int from;
+        private final int to;
+        private final Options options;
+
+        SweepTask(List<Unit> units, int from, int to, Options options) {
+            this.units = units;
+            this.from = from;
+            this.to = to;
+            this.options = options;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                units.get(from).run(options);
+                return;
+            }
+            if (to - from < 1) return;
+            int middle = (from + to) >>> 1;
+            invokeAll(new SweepTask(units, from, middle, options), new SweepTask(units, middle, to, options));
+        }
+    }
+
+
+    // === SAÍDA ===
+
+    private static void printSet(int index, int count, ParameterSet set, int simulationHz) {
+        OutcomeStats stats = set.stats;
+        StringBuilder phases = new StringBuilder();
+        for (int phase = 0; phase < set.rules.getPhaseCount(); phase++) {
+            if (phase > 0) phases.append(" / ");
+            phases.append(percent(stats.getFinalPhaseRate(phase)));
+        }
+        System.out.println("[" + (index + 1) + "/" + count + "] " + set.label());
+        System.out.println(String.format(Locale.ROOT,
+            "    win %s  caught %s  unfinished %d  mean %.1f s  caught at score p10 %s p50 %s p90 %s  final phase %s",
+            percent(stats.getWinRate()), percent(stats.getCaughtRate()), stats.getUnfinished(),
+            stats.getMeanSeconds(simulationHz), quantile(stats, 0.1), quantile(stats, 0.5), quantile(stats, 0.9), phases));
+    }
+
+    private static String percent(double rate) {
+        return String.format(Locale.ROOT, "%.1f%%", rate * 100);
+    }
+
+    private static String quantile(OutcomeStats stats, double quantile) {
+        int score = stats.getCaughtScoreQuantile(quantile);
+        return score < 0 ? "-" : Integer.toString(score);
+    }
+
+    /** Uma linha por combinação; o histograma traz as capturas por faixa de pontuação, separadas por espaço. */
+    private static void writeCsv(Options options, List<ParameterSet> sets) throws IOException {
+        int maxPhases = 0;
+        for (ParameterSet set : sets) {
+            maxPhases = Math.max(maxPhases, set.rules.getPhaseCount());
+        }
+
+        try (PrintWriter out = new PrintWriter(new FileWriter(options.csvPath))) {
+            StringBuilder header = new StringBuilder("set");
+            for (String axis : options.axisValues.keySet()) {
+                header.append(',').append(axis);
+            }
+            header.append(",bot,items,games,win_rate,caught_rate,unfinished,mean_seconds,caught_score_p10,caught_score_p50,caught_score_p90");
+            for (int phase = 0; phase < maxPhases; phase++) {
+                header.append(",final_phase_").append(phase);
+            }
+            header.append(",caught_score_histogram_").append(OutcomeStats.SCORE_BUCKET);
+            out.println(header);
+
+            for (int i = 0; i < sets.size(); i++) {
+                ParameterSet set = sets.get(i);
+                OutcomeStats stats = set.stats;
+                StringBuilder row = new StringBuilder().append(i + 1);
+                for (String value : set.values.values()) {
+                    row.append(',').append(value);
+                }
+                row.append(',').append(set.bot).append(',').append(options.items).append(',').append(stats.getGames());
+                row.append(String.format(Locale.ROOT, ",%.5f,%.5f,%d,%.3f", stats.getWinRate(), stats.getCaughtRate(),
+                    stats.getUnfinished(), stats.getMeanSeconds(options.simulationHz)));
+                row.append(',').append(stats.getCaughtScoreQuantile(0.1));
+                row.append(',').append(stats.getCaughtScoreQuantile(0.5));
+                row.append(',').append(stats.getCaughtScoreQuantile(0.9));
+                for (int phase = 0; phase < maxPhases; phase++) {
+                    row.append(String.format(Locale.ROOT, ",%.5f", stats.getFinalPhaseRate(phase)));
+                }
+                row.append(',');
+                int[] histogram = stats.getCaughtScoreHistogram();
+                for (int bucket = 0; bucket < histogram.length; bucket++) {
+                    if (bucket > 0) row.append(' ');
+                    row.append(histogram[bucket]);
+                }
+                out.println(row);
+            }
+        }
+    }
+
+
+    // === PARÂMETROS ===
+
+    /** Uma combinação de valores dos eixos, com as regras resultantes e seus resultados. */
+    private static final class ParameterSet {
+        final Map<String, String> values;
+        final ChaseRules rules;
+        final BotPolicy bot;
+        final OutcomeStats stats;
+
+        ParameterSet(Map<String, String> values, ChaseRules rules, BotPolicy bot, Options options) {
+            this.values = values;
+            this.rules = rules;
+            this.bot = bot;
+            this.stats = newStats(options);
+        }
+
+        OutcomeStats newStats(Options options) {
+            int maxScore = rules.isEndless()
+                ? (int) (options.maxSeconds * rules.getScorePerSecond())
+                : rules.getVictoryScore();
+            return new OutcomeStats(maxScore, rules.getPhaseCount());
+        }
+
+        String label() {
+            StringBuilder label = new StringBuilder();
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                label.append(entry.getKey()).append('=').append(entry.getValue()).append(' ');
+            }
+            return label.append("bot=").append(bot).toString();
+        }
+    }
+
+    private static final class Options {
+        final Map<String, String[]> axisValues = new LinkedHashMap<>();
+        List<BotPolicy> bots = new ArrayList<>();
+        int games = DEFAULT_GAMES;
+        long seed = 1;
+        int simulationHz = DEFAULT_SIMULATION_HZ;
+        float viewportWidth = DEFAULT_VIEWPORT_WIDTH;
+        int maxSeconds = DEFAULT_MAX_SECONDS;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean endless;
+        boolean items;
+        long worldSeed = SimulationBatch.DEFAULT_WORLD_SEED;
+        String csvPath;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            Map<String, String[]> axes = new LinkedHashMap<>();
+            for (String arg : args) {
+                if (arg.equals("--endless")) {
+                    options.endless = true;
+                    continue;
+                }
+                if (arg.equals("--items")) {
+                    options.items = true;
+                    continue;
+                }
+                int equals = arg.indexOf('=');
+                if (!arg.startsWith("--") || equals < 0) throw new IllegalArgumentException("Unknown argument: " + arg);
+                String name = arg.substring(2, equals);
+                String value = arg.substring(equals + 1);
+                try {
+                    switch (name) {
+                        case "bot":
+                            for (String spec : value.split(",")) options.bots.add(BotPolicy.parse(spec));
+                            break;
+                        case "games": options.games = positive(name, Integer.parseInt(value)); break;
+                        case "seed": options.seed = Long.parseLong(value); break;
+                        case "world-seed": options.worldSeed = Long.parseLong(value); break;
+                        case "sim-hz": options.simulationHz = positive(name, Integer.parseInt(value)); break;
+                        case "viewport": options.viewportWidth = positive(name, Integer.parseInt(value)); break;
+                        case "max-seconds": options.maxSeconds = positive(name, Integer.parseInt(value)); break;
+                        case "threads": options.threads = positive(name, Integer.parseInt(value)); break;
+                        case "csv": options.csvPath = value; break;
+                        default:
+                            if (!Arrays.asList(AXES).contains(name)) throw new IllegalArgumentException("Unknown option: --" + name);
+                            axes.put(name, value.split(","));
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number in " + arg);
+                }
+            }
+            if (options.bots.isEmpty()) options.bots.add(BotPolicy.parse(DEFAULT_BOT));
+            // Mantém a ordem de AXES, não a da linha de comando
+            for (String axis : AXES) {
+                if (axes.containsKey(axis)) options.axisValues.put(axis, axes.get(axis));
+            }
+            return options;
+        }
+
+        private static int positive(String name, int value) {
+            if (value <= 0) throw new IllegalArgumentException("--" + name + " must be positive: " + value);
+            return value;
+        }
+
+        /** Todas as combinações dos eixos e das políticas, com o último eixo variando mais rápido. */
+        List<ParameterSet> expand() {
+            List<String> names = new ArrayList<>(axisValues.keySet());
+            int[] choice = new int[names.size()];
+            List<ParameterSet> sets = new ArrayList<>();
+            while (true) {
+                Map<String, String> values = new LinkedHashMap<>();
+                for (int axis = 0; axis < names.size(); axis++) {
+                    values.put(names.get(axis), axisValues.get(names.get(axis))[choice[axis]]);
+                }
+                ChaseRules rules = buildRules(values);
+                for (BotPolicy bot : bots) {
+                    sets.add(new ParameterSet(values, rules, bot, this));
+                }
+
+                int axis = names.size() - 1;
+                while (axis >= 0 && ++choice[axis] == axisValues.get(names.get(axis)).length) {
+                    choice[axis--] = 0;
+                }
+                if (axis < 0) return sets;
+            }
+        }
+
+        private ChaseRules buildRules(Map<String, String> values) {
+            ChaseRules rules = new ChaseRules().setEndless(endless).setItemsEnabled(items);
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                String value = entry.getValue();
+                try {
+                    switch (entry.getKey()) {
+                        case "player-tap": rules.setPlayerAccelerationPerTap(Float.parseFloat(value)); break;
+                        case "player-max-speed": rules.setPlayerMaxSpeed(Float.parseFloat(value)); break;
+                        case "player-deceleration": rules.setPlayerDecelerationRate(Float.parseFloat(value)); break;
+                        case "police-initial-speed": rules.setPoliceInitialSpeed(Float.parseFloat(value)); break;
+                        case "police-acceleration": rules.setPoliceAccelerationRate(Float.parseFloat(value)); break;
+                        case "police-max-speed": rules.setPoliceMaxSpeed(Float.parseFloat(value)); break;
+                        case "catch-up": rules.setPoliceMaxDistancePercent(Float.parseFloat(value)); break;
+                        case "catch-up-step": rules.setPoliceDistanceReductionPerPhase(Float.parseFloat(value)); break;
+                        case "catch-up-min": rules.setPoliceMinDistanceFactor(Float.parseFloat(value)); break;
+                        case "victory-score": rules.setVictoryScore(Integer.parseInt(value)); break;
+                        default: break; // As fases são aplicadas juntas, abaixo
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number for --" + entry.getKey() + ": " + value);
+                }
+            }
+
+            float[] speeds = new float[rules.getPhaseCount()];
+            int[] thresholds = new int[rules.getPhaseCount()];
+            for (int phase = 0; phase < speeds.length; phase++) {
+                speeds[phase] = rules.phaseSpeedMultiplier(phase);
+                thresholds[phase] = rules.phaseScoreThreshold(phase);
+            }
+            try {
+                if (values.containsKey("phase-speeds")) speeds = parseFloats(values.get("phase-speeds"));
+                if (values.containsKey("phase-thresholds")) thresholds = parseInts(values.get("phase-thresholds"));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number in the phases of " + values);
+            }
+            if (speeds.length != thresholds.length) {
+                throw new IllegalArgumentException("--phase-speeds and --phase-thresholds need the same number of phases: "
+                    + values.get("phase-speeds") + " and " + values.get("phase-thresholds"));
+            }
+            return rules.setPhases(speeds, thresholds);
+        }
+
+        private static float[] parseFloats(String list) {
+            String[] parts = list.split("/");
+            float[] values = new float[parts.length];
+            for (int i = 0; i < parts.length; i++) values[i] = Float.parseFloat(parts[i]);
+            return values;
+        }
+
+        private static int[] parseInts(String list) {
+            String[] parts = list.split("/");
+            int[] values = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) values[i] = Integer.parseInt(parts[i]);
+            return values;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package br.mackenzie.tools;
+
+import br.mackenzie.sim.SimulationBatch;
+
+/**
+ * Jeito de tocar a barra de espaço de um jogador simulado. Cada política é descrita por um
+ * texto como {@code steady:4:0.2} e cria, para cada {@link SimulationBatch}, uma
+ * {@link SimulationBatch.TapSource} com o estado de cada partida. Os jogadores não são todos
+ * iguais: cada partida sorteia o próprio ritmo em torno do da política, e cada toque sai um
+ * pouco adiantado ou atrasado.
+ * <ul>
+ * <li>{@code steady:<toques/s>[:<variação>]} toca sem parar, no ritmo sorteado entre
+ * {@code toques/s * (1 ± variação)}; variação padrão 0.2.</li>
+ * <li>{@code reactive:<distância>[:<toques/s>]} só toca quando a polícia chega a menos de
+ * {@code distância} pixels, no máximo no ritmo dado; 8 toques/s por padrão.</li>
+ * </ul>
+ */
+abstract class BotPolicy {
+    private static final float DEFAULT_SPREAD = 0.2f;
+    private static final float DEFAULT_REACTIVE_RATE = 8f;
+    private static final float TAP_JITTER = 0.3f;
+
+    private final String spec;
+
+    BotPolicy(String spec) {
+        this.spec = spec;
+    }
+
+    static BotPolicy parse(String spec) {
+        String[] parts = spec.split(":");
+        try {
+            if (parts[0].equals("steady") && (parts.length == 2 || parts.length == 3)) {
+                float rate = Float.parseFloat(parts[1]);
+                float spread = parts.length == 3 ? Float.parseFloat(parts[2]) : DEFAULT_SPREAD;
+                if (rate > 0 && spread >= 0 && spread < 1) return new Steady(spec, rate, spread);
+            } else if (parts[0].equals("reactive") && (parts.length == 2 || parts.length == 3)) {
+                float distance = Float.parseFloat(parts[1]);
+                float rate = parts.length == 3 ? Float.parseFloat(parts[2]) : DEFAULT_REACTIVE_RATE;
+                if (rate > 0) return new Reactive(spec, distance, rate);
+            }
+        } catch (NumberFormatException e) {
+            // Cai na mensagem abaixo
+        }
+        throw new IllegalArgumentException("Invalid bot policy: " + spec
+            + " (expected steady:<taps/s>[:<spread>] or reactive:<distance>[:<taps/s>])");
+    }
+
+    /** Estado das {@code games} partidas de uma {@link SimulationBatch}, sorteado a partir de {@code seed}. */
+    abstract SimulationBatch.TapSource create(int games, long seed, int simulationHz);
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+
+    // === POLÍTICAS ===
+
+    private static final class Steady extends BotPolicy {
+        private final float rate;
+        private final float spread;
+
+        Steady(String spec, float rate, float spread) {
+            super(spec);
+            this.rate = rate;
+            this.spread = spread;
+        }
+
+        @Override
+        SimulationBatch.TapSource create(int games, long seed, int simulationHz) {
+            final Random random = new Random(seed);
+            final float[] intervalTicks = new float[games];
+            final float[] nextTapTick = new float[games];
+            for (int i = 0; i < games; i++) {
+                float gameRate = rate * (1f + spread * random.nextSigned());
+                intervalTicks[i] = simulationHz / gameRate;
+                nextTapTick[i] = intervalTicks[i] * random.nextFloat();
+            }
+            return (batch, tick, taps) -> {
+                for (int i = 0; i < games; i++) {
+                    if (batch.getStatus(i) != SimulationBatch.RUNNING || tick < nextTapTick[i]) continue;
+                    taps[i] = 1;
+                    nextTapTick[i] += intervalTicks[i] * (1f + TAP_JITTER * random.nextSigned());
+                }
+            };
+        }
+    }
+
+    private static final class Reactive extends BotPolicy {
+        private final float distance;
+        private final float rate;
+
+        Reactive(String spec, float distance, float rate) {
+            super(spec);
+            this.distance = distance;
+            this.rate = rate;
+        }
+
+        @Override
+        SimulationBatch.TapSource create(int games, long seed, int simulationHz) {
+            final Random random = new Random(seed);
+            final float[] gameDistance = new float[games];
+            final float[] nextTapTick = new float[games];
+            final float intervalTicks = simulationHz / rate;
+            for (int i = 0; i < games; i++) {
+                gameDistance[i] = distance * (1f + DEFAULT_SPREAD * random.nextSigned());
+            }
+            return (batch, tick, taps) -> {
+                float policeWidth = batch.getRules().getPoliceWidth();
+                for (int i = 0; i < games; i++) {
+                    if (batch.getStatus(i) != SimulationBatch.RUNNING || tick < nextTapTick[i]) continue;
+                    float gap = batch.getPlayerX(i) - (batch.getPoliceX(i) + policeWidth);
+                    if (gap >= gameDistance[i]) continue;
+                    taps[i] = 1;
+                    nextTapTick[i] = tick + intervalTicks * (1f + TAP_JITTER * random.nextSigned());
+                }
+            };
+        }
+    }
+
+
+    // === SORTEIO ===
+
+    /**
+     * Xorshift64* sem sincronização: cada {@link SimulationBatch} usa o seu, só numa thread, e a
+     * mesma semente repete as mesmas partidas.
+     */
+    static final class Random {
+        private long state;
+
+        Random(long seed) {
+            state = seed != 0 ? seed : 0x9E3779B97F4A7C15L;
+        }
+
+        long nextLong() {
+            state ^= state >>> 12;
+            state ^= state << 25;
+            state ^= state >>> 27;
+            return state * 0x2545F4914F6CDD1DL;
+        }
+
+        /** Uniforme em [0, 1). */
+        float nextFloat() {
+            return (nextLong() >>> 40) * 0x1.0p-24f;
+        }
+
+        /** Uniforme em [-1, 1). */
+        float nextSigned() {
+            return nextFloat() * 2f - 1f;
+        }
+    }
+}
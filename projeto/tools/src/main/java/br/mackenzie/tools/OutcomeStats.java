@@ -0,0 +1,91 @@
+package br.mackenzie.tools;
+
+import br.mackenzie.sim.SimulationBatch;
+
+/**
+ * Resultados acumulados das partidas de um conjunto de parâmetros: vitórias, capturas, a
+ * distribuição da pontuação em que o jogador foi pego (em faixas de {@link #SCORE_BUCKET}
+ * pontos) e a distribuição da última fase alcançada.
+ */
+final class OutcomeStats {
+    static final int SCORE_BUCKET = 10;
+
+    private final int[] caughtScoreHistogram;
+    private final long[] finalPhaseHistogram;
+    private long games;
+    private long escaped;
+    private long caught;
+    private long unfinished;
+    private long totalTicks;
+
+    /** @param maxScore pontuações acima dela vão para a última faixa */
+    OutcomeStats(int maxScore, int phaseCount) {
+        caughtScoreHistogram = new int[maxScore / SCORE_BUCKET + 1];
+        finalPhaseHistogram = new long[phaseCount];
+    }
+
+    /** Soma as partidas de {@code batch}, terminadas ou não. */
+    void addBatch(SimulationBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            games++;
+            totalTicks += batch.getTicks(i);
+            finalPhaseHistogram[Math.min(batch.getPhase(i), finalPhaseHistogram.length - 1)]++;
+            byte status = batch.getStatus(i);
+            if (status == SimulationBatch.ESCAPED) {
+                escaped++;
+            } else if (status == SimulationBatch.CAUGHT) {
+                caught++;
+                caughtScoreHistogram[Math.min(batch.getScore(i) / SCORE_BUCKET, caughtScoreHistogram.length - 1)]++;
+            } else {
+                unfinished++;
+            }
+        }
+    }
+
+    /** Junta o resultado de uma parte da simulação; pode ser chamado de várias threads. */
+    synchronized void merge(OutcomeStats other) {
+        games += other.games;
+        escaped += other.escaped;
+        caught += other.caught;
+        unfinished += other.unfinished;
+        totalTicks += other.totalTicks;
+        for (int i = 0; i < caughtScoreHistogram.length; i++) {
+            caughtScoreHistogram[i] += other.caughtScoreHistogram[i];
+        }
+        for (int i = 0; i < finalPhaseHistogram.length; i++) {
+            finalPhaseHistogram[i] += other.finalPhaseHistogram[i];
+        }
+    }
+
+    long getGames() { return games; }
+    long getUnfinished() { return unfinished; }
+
+    double getWinRate() { return games == 0 ? 0 : (double) escaped / games; }
+    double getCaughtRate() { return games == 0 ? 0 : (double) caught / games; }
+
+    double getMeanSeconds(int simulationHz) {
+        return games == 0 ? 0 : (double) totalTicks / games / simulationHz;
+    }
+
+    /** Fração das partidas que terminaram na fase {@code phase}. */
+    double getFinalPhaseRate(int phase) {
+        return games == 0 || phase >= finalPhaseHistogram.length ? 0 : (double) finalPhaseHistogram[phase] / games;
+    }
+
+    /**
+     * Pontuação abaixo da qual estão {@code quantile} das capturas, arredondada para o início da
+     * faixa; -1 se ninguém foi pego.
+     */
+    int getCaughtScoreQuantile(double quantile) {
+        if (caught == 0) return -1;
+        long target = (long) Math.ceil(quantile * caught);
+        long seen = 0;
+        for (int i = 0; i < caughtScoreHistogram.length; i++) {
+            seen += caughtScoreHistogram[i];
+            if (seen >= Math.max(1, target)) return i * SCORE_BUCKET;
+        }
+        return (caughtScoreHistogram.length - 1) * SCORE_BUCKET;
+    }
+
+    int[] getCaughtScoreHistogram() { return caughtScoreHistogram; }
+}